@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.avro;
+
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+/**
+ * Value key of an {@link ArtifactReference}, independent of the equality implemented by the reference class.
+ */
+record ArtifactKey(String groupId, String artifactId, String version, Long globalId, Long contentId, String contentHash) {
+
+    static ArtifactKey of(ArtifactReference reference) {
+        return new ArtifactKey(reference.getGroupId(), reference.getArtifactId(), reference.getVersion(),
+                reference.getGlobalId(), reference.getContentId(), reference.getContentHash());
+    }
+
+    ArtifactReference toReference() {
+        return ArtifactReference.builder().groupId(groupId).artifactId(artifactId).version(version)
+                .globalId(globalId).contentId(contentId).contentHash(contentHash).build();
+    }
+
+    /**
+     * @return the key of the artifact reference carried by the record metadata, or null if the record has none
+     */
+    static ArtifactKey of(Record<?> record) {
+        if (record.metadata() == null || record.metadata().artifactReference() == null) {
+            return null;
+        }
+        return of(record.metadata().artifactReference());
+    }
+}
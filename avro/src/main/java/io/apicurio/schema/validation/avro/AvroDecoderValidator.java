@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.avro;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.util.ByteBufferInputStream;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates Avro encoded data against a {@link Schema} without decoding it into a {@link org.apache.avro.generic.GenericRecord}.
+ * The encoding is walked with a {@link Decoder}, in the same order as a datum reader would read it: union indexes and
+ * enum ordinals are checked, strings, bytes and fixed values are skipped over, array and map blocks are followed and
+ * a binary payload must end with the datum.
+ * With a binary encoding, lengths and block counts are checked against the bytes left in the payload before anything
+ * is skipped or iterated, so a few corrupted bytes cannot make the validator read past the payload or loop for long.
+ * The path of the value being read is kept as a stack of field names and item positions, and only turned into a
+ * string when an error is reported.
+ */
+final class AvroDecoderValidator {
+
+    private static final int NESTING_LIMIT = 1000;
+
+    private final int maxErrors;
+    private List<ValidationError> errors;
+
+    // path of the value being read: a field name, or the position of an array item, or the key of a map entry
+    private Object[] names = new Object[16];
+    private long[] positions = new long[16];
+    // map keys are read into one reused buffer per level
+    private Utf8[] keys = new Utf8[16];
+    private int depth;
+
+    // position of the datum in a container file, the block is -1 for a single datum
+    private long block = -1;
+    private long record;
+
+    // the binary decoder being read and the buffer it reads from, if its input is not an array
+    private BinaryDecoder binary;
+    private ByteBuffer source;
+    // smallest binary encoding of a value of each schema met, see minimumSize
+    private Map<Schema, Integer> minimumSizes;
+
+    private AvroDecoderValidator(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Creates a validator for the records of a block of a container file, the errors of all the records are added to
+     * the provided list and their context starts with {@code block[i].record[j]}.
+     */
+    static AvroDecoderValidator forBlock(long block, List<ValidationError> errors, int maxErrors) {
+        AvroDecoderValidator validator = new AvroDecoderValidator(maxErrors);
+        validator.block = block;
+        validator.errors = errors;
+        return validator;
+    }
+
+    /**
+     * Validates the next record of the block.
+     *
+     * @return false if the record is malformed, the records that follow it cannot be read
+     * @throws ErrorLimitReached once the maximum number of errors has been found
+     */
+    boolean validateRecord(Schema schema, Decoder decoder, long record) {
+        this.record = record;
+        this.depth = 0;
+        this.binary = decoder instanceof BinaryDecoder ? (BinaryDecoder) decoder : null;
+        try {
+            validateValue(schema, decoder);
+            return true;
+        } catch (IOException | AvroRuntimeException | UnsupportedOperationException e) {
+            error("Malformed Avro payload: " + e.getMessage(), path());
+            return false;
+        }
+    }
+
+    /**
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    static AvroValidationResult validate(Schema schema, ByteBuffer payload, int maxErrors) {
+        AvroDecoderValidator validator = new AvroDecoderValidator(maxErrors);
+        BinaryDecoder decoder;
+        if (payload.hasArray()) {
+            decoder = DecoderFactory.get().binaryDecoder(payload.array(), payload.arrayOffset() + payload.position(),
+                    payload.remaining(), null);
+        } else {
+            // the input stream moves the position of the buffer as the decoder fills its own buffer
+            validator.source = payload.duplicate();
+            decoder = DecoderFactory.get().binaryDecoder(new ByteBufferInputStream(List.of(validator.source)), null);
+        }
+        validator.binary = decoder;
+        try {
+            validator.validateValue(schema, decoder);
+            if (!decoder.isEnd()) {
+                validator.error("Unexpected data after the end of the " + schema.getType().getName(), "");
+            }
+        } catch (IOException | AvroRuntimeException | UnsupportedOperationException e) {
+            validator.errors = validator.errors == null ? new ArrayList<>() : validator.errors;
+            validator.errors.add(new ValidationError("Malformed Avro payload: " + e.getMessage(), validator.path()));
+        } catch (ErrorLimitReached e) {
+            // the rest of the payload is not read
+        }
+        if (validator.errors != null) {
+            return AvroValidationResult.fromErrors(validator.errors);
+        }
+        return AvroValidationResult.SUCCESS;
+    }
+
+    /**
+     * Reads a datum with a decoder that reports invalid data itself, like a {@link org.apache.avro.io.JsonDecoder}.
+     * Data that does not match the schema is reported by the exceptions of the decoder.
+     */
+    static void read(Schema schema, Decoder decoder) throws IOException {
+        new AvroDecoderValidator(0).validateValue(schema, decoder);
+    }
+
+    private void validateValue(Schema schema, Decoder decoder) throws IOException {
+        switch (schema.getType()) {
+            case RECORD:
+                push();
+                for (Schema.Field field : schema.getFields()) {
+                    names[depth] = field.name();
+                    validateValue(field.schema(), decoder);
+                }
+                depth--;
+                break;
+            case UNION:
+                int index = decoder.readIndex();
+                if (index < 0 || index >= schema.getTypes().size()) {
+                    // the encoding of the value is unknown, the rest of the payload cannot be read
+                    throw new IOException("Invalid union index " + index + ", the union has "
+                            + schema.getTypes().size() + " types");
+                }
+                validateValue(schema.getTypes().get(index), decoder);
+                break;
+            case ENUM:
+                int ordinal = decoder.readEnum();
+                if (ordinal < 0 || ordinal >= schema.getEnumSymbols().size()) {
+                    error("Invalid enum ordinal " + ordinal + ". Expected one of: " + schema.getEnumSymbols(), path());
+                }
+                break;
+            case ARRAY:
+                push();
+                long item = 0;
+                int itemSize = binary != null ? minimumSize(schema.getElementType()) : -1;
+                for (long count = decoder.readArrayStart(); count != 0; count = decoder.arrayNext()) {
+                    if (itemSize == 0) {
+                        // the items have no encoded data, so they cannot be invalid and the block is not iterated
+                        item += count;
+                        continue;
+                    }
+                    checkBlock(count, itemSize);
+                    for (long i = 0; i < count; i++) {
+                        names[depth] = null;
+                        positions[depth] = item++;
+                        validateValue(schema.getElementType(), decoder);
+                    }
+                }
+                depth--;
+                break;
+            case MAP:
+                push();
+                if (keys[depth] == null) {
+                    keys[depth] = new Utf8();
+                }
+                // an entry is at least the length of its key followed by its value
+                int entrySize = binary != null ? (int) Math.min(1L + minimumSize(schema.getValueType()), Integer.MAX_VALUE) : -1;
+                for (long count = decoder.readMapStart(); count != 0; count = decoder.mapNext()) {
+                    checkBlock(count, entrySize);
+                    for (long i = 0; i < count; i++) {
+                        keys[depth] = decoder.readString(keys[depth]);
+                        names[depth] = keys[depth];
+                        validateValue(schema.getValueType(), decoder);
+                    }
+                }
+                depth--;
+                break;
+            case STRING:
+            case BYTES:
+                if (binary != null) {
+                    binary.skipFixed(checkLength(binary.readLong()));
+                } else if (schema.getType() == Schema.Type.STRING) {
+                    decoder.skipString();
+                } else {
+                    decoder.skipBytes();
+                }
+                break;
+            case FIXED:
+                decoder.skipFixed(schema.getFixedSize());
+                break;
+            case INT:
+                decoder.readInt();
+                break;
+            case LONG:
+                decoder.readLong();
+                break;
+            case FLOAT:
+                decoder.readFloat();
+                break;
+            case DOUBLE:
+                decoder.readDouble();
+                break;
+            case BOOLEAN:
+                decoder.readBoolean();
+                break;
+            case NULL:
+                decoder.readNull();
+                break;
+            default:
+                throw new IllegalStateException("Unsupported schema type " + schema.getType());
+        }
+    }
+
+    /**
+     * @return the length of a string or bytes value, once checked against the bytes left in the payload
+     */
+    private int checkLength(long length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        long remaining = remaining();
+        if (length > remaining) {
+            throw new IOException("Length " + length + " is larger than the " + remaining + " remaining bytes");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Checks that the payload has enough bytes left for a block of {@code count} values of at least {@code size} bytes.
+     */
+    private void checkBlock(long count, int size) throws IOException {
+        if (size <= 0) {
+            return;
+        }
+        long remaining = remaining();
+        if (count > remaining / size) {
+            throw new IOException("Block of " + count + " values is larger than the " + remaining + " remaining bytes");
+        }
+    }
+
+    private long remaining() throws IOException {
+        long remaining = binary.inputStream().available();
+        return source != null ? remaining + source.remaining() : remaining;
+    }
+
+    /**
+     * @return the smallest number of bytes of the binary encoding of a value of the schema
+     */
+    private int minimumSize(Schema schema) {
+        if (minimumSizes == null) {
+            minimumSizes = new IdentityHashMap<>();
+        }
+        Integer size = minimumSizes.get(schema);
+        if (size == null) {
+            // a record that refers to itself counts as empty while its fields are summed
+            minimumSizes.put(schema, 0);
+            size = computeMinimumSize(schema);
+            minimumSizes.put(schema, size);
+        }
+        return size;
+    }
+
+    private int computeMinimumSize(Schema schema) {
+        switch (schema.getType()) {
+            case NULL:
+                return 0;
+            case FIXED:
+                return schema.getFixedSize();
+            case FLOAT:
+                return 4;
+            case DOUBLE:
+                return 8;
+            case RECORD:
+                long size = 0;
+                for (Schema.Field field : schema.getFields()) {
+                    size += minimumSize(field.schema());
+                }
+                return (int) Math.min(size, Integer.MAX_VALUE);
+            default:
+                // a union index, an enum ordinal, a length, a block count or a number is at least one byte
+                return 1;
+        }
+    }
+
+    private void push() throws IOException {
+        depth++;
+        if (depth > NESTING_LIMIT) {
+            throw new IOException("Avro payload has too many levels of nesting");
+        }
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            positions = Arrays.copyOf(positions, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+        }
+    }
+
+    /**
+     * @return the path of the value being read, in the same notation as the record validation
+     */
+    private String path() {
+        StringBuilder path = new StringBuilder();
+        if (block >= 0) {
+            path.append("block[").append(block).append("].record[").append(record).append(']');
+        }
+        for (int i = 1; i <= depth; i++) {
+            Object name = names[i];
+            if (name instanceof String) {
+                if (path.length() > 0) {
+                    path.append('.');
+                }
+                path.append(name);
+            } else if (name instanceof Utf8) {
+                path.append("[\"").append(name).append("\"]");
+            } else {
+                path.append('[').append(positions[i]).append(']');
+            }
+        }
+        return path.toString();
+    }
+
+    private void error(String description, String context) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.add(new ValidationError(description, context));
+        ErrorLimitReached.check(errors.size(), maxErrors);
+    }
+}
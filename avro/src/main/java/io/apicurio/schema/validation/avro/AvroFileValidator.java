@@ -0,0 +1,347 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.avro;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.file.BZip2Codec;
+import org.apache.avro.file.Codec;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DeflateCodec;
+import org.apache.avro.file.SeekableInput;
+import org.apache.avro.file.XZCodec;
+import org.apache.avro.file.ZstandardCodec;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Validates the records of an Avro object container file against a schema.
+ * The header and the block framing are read sequentially, each block is then decompressed and validated as a task of
+ * the provided executor. At most two blocks per thread are held in memory, the errors of the blocks are merged in
+ * file order. Records written with the same schema, by fingerprint, are checked on their binary encoding, records of
+ * another writer schema are read into the validated schema and checked as datums of the validated schema, which does
+ * not need to be a record.
+ */
+final class AvroFileValidator {
+
+    private static final int SYNC_SIZE = 16;
+    // the largest sync interval of the Avro writer, blocks end at the first record written past it
+    private static final int MAX_BLOCK_SIZE = 1 << 30;
+    // blocks of files without compression are validated in place
+    private static final Supplier<Codec> NO_CODEC = () -> null;
+
+    private final AvroValidator validator;
+    private final Schema schema;
+    private final int maxErrors;
+
+    private Schema writerSchema;
+    private Supplier<Codec> codec;
+    private byte[] sync;
+    private long blockCount;
+
+    private AvroFileValidator(AvroValidator validator, Schema schema, int maxErrors) {
+        this.validator = validator;
+        this.schema = schema;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    static AvroValidationResult validate(AvroValidator validator, Schema schema, SeekableInput input, Executor executor,
+            int parallelism, int maxErrors) throws IOException {
+        return new AvroFileValidator(validator, schema, maxErrors).validate(input, executor, parallelism);
+    }
+
+    private AvroValidationResult validate(SeekableInput input, Executor executor, int parallelism) throws IOException {
+        input.seek(0);
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(new SeekableInputStream(input), null);
+        List<ValidationError> errors = new ArrayList<>();
+        try {
+            if (!readHeader(decoder, errors)) {
+                return AvroValidationResult.fromErrors(errors);
+            }
+        } catch (EOFException | AvroRuntimeException e) {
+            return AvroValidationResult.fromErrors(List.of(
+                    new ValidationError("Malformed Avro data file header: " + e.getMessage(), "header")));
+        }
+
+        Deque<CompletableFuture<List<ValidationError>>> pending = new ArrayDeque<>();
+        try {
+            long block = 0;
+            boolean reading = true;
+            while (reading || !pending.isEmpty()) {
+                while (reading && pending.size() < parallelism * 2) {
+                    if (decoder.isEnd()) {
+                        reading = false;
+                        break;
+                    }
+                    long index = block++;
+                    List<ValidationError> framingErrors = new ArrayList<>(1);
+                    byte[] data = readBlock(input, decoder, index, framingErrors);
+                    if (data == null) {
+                        // reported after the errors of the blocks before it
+                        pending.add(CompletableFuture.completedFuture(framingErrors));
+                        reading = false;
+                        break;
+                    }
+                    long count = blockCount;
+                    pending.add(CompletableFuture.supplyAsync(() -> validateBlock(index, count, data), executor));
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+                for (ValidationError error : await(pending.poll())) {
+                    errors.add(error);
+                    if (errors.size() == maxErrors) {
+                        return AvroValidationResult.fromErrors(errors);
+                    }
+                }
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+        if (!errors.isEmpty()) {
+            return AvroValidationResult.fromErrors(errors);
+        }
+        return AvroValidationResult.SUCCESS;
+    }
+
+    private boolean readHeader(BinaryDecoder decoder, List<ValidationError> errors) throws IOException {
+        byte[] magic = new byte[DataFileConstants.MAGIC.length];
+        decoder.readFixed(magic);
+        if (!Arrays.equals(magic, DataFileConstants.MAGIC)) {
+            errors.add(new ValidationError("Not an Avro data file", "header"));
+            return false;
+        }
+        Map<String, byte[]> metadata = new HashMap<>();
+        for (long count = decoder.readMapStart(); count != 0; count = decoder.mapNext()) {
+            for (long i = 0; i < count; i++) {
+                String key = decoder.readString();
+                ByteBuffer value = decoder.readBytes(null);
+                byte[] bytes = new byte[value.remaining()];
+                value.get(bytes);
+                metadata.put(key, bytes);
+            }
+        }
+        sync = new byte[SYNC_SIZE];
+        decoder.readFixed(sync);
+
+        byte[] codecName = metadata.get(DataFileConstants.CODEC);
+        codec = codec(codecName == null ? DataFileConstants.NULL_CODEC : new String(codecName, StandardCharsets.UTF_8));
+        if (codec == null) {
+            errors.add(new ValidationError("Unsupported Avro data file codec: " + new String(codecName,
+                    StandardCharsets.UTF_8), "header"));
+            return false;
+        }
+        byte[] schemaJson = metadata.get(DataFileConstants.SCHEMA);
+        if (schemaJson == null) {
+            errors.add(new ValidationError("Avro data file without schema", "header"));
+            return false;
+        }
+        // parse errors are reported as a malformed header
+        writerSchema = new Schema.Parser().setValidateDefaults(false)
+                .parse(new String(schemaJson, StandardCharsets.UTF_8));
+
+        if (AvroValidationPlan.fingerprint(writerSchema) != AvroValidationPlan.fingerprint(schema)) {
+            SchemaCompatibility.SchemaPairCompatibility compatibility =
+                    SchemaCompatibility.checkReaderWriterCompatibility(schema, writerSchema);
+            if (compatibility.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+                errors.add(new ValidationError("The writer schema of the file cannot be read with the schema: "
+                        + compatibility.getDescription(), "header"));
+                return false;
+            }
+        } else {
+            writerSchema = null;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next block and its sync marker, the number of records is left in {@link #blockCount}.
+     *
+     * @return the compressed data of the block, or null if the file is corrupt
+     */
+    private byte[] readBlock(SeekableInput input, BinaryDecoder decoder, long block, List<ValidationError> errors)
+            throws IOException {
+        try {
+            blockCount = decoder.readLong();
+            long size = decoder.readLong();
+            // the size is checked before allocating, a corrupt length must not exhaust the memory
+            long remaining = input.length() - input.tell() + decoder.inputStream().available();
+            if (blockCount < 0 || size < 0 || size > MAX_BLOCK_SIZE || size > remaining - SYNC_SIZE) {
+                errors.add(new ValidationError("Invalid block, " + blockCount + " records in " + size + " bytes",
+                        "block[" + block + "]"));
+                return null;
+            }
+            byte[] data = new byte[(int) size];
+            decoder.readFixed(data);
+            byte[] marker = new byte[SYNC_SIZE];
+            decoder.readFixed(marker);
+            if (!Arrays.equals(marker, sync)) {
+                errors.add(new ValidationError("Invalid sync marker after the block", "block[" + block + "]"));
+                return null;
+            }
+            return data;
+        } catch (IOException | AvroRuntimeException e) {
+            errors.add(new ValidationError("Malformed Avro data file: " + e.getMessage(), "block[" + block + "]"));
+            return null;
+        }
+    }
+
+    private List<ValidationError> validateBlock(long block, long count, byte[] data) {
+        List<ValidationError> errors = new ArrayList<>(0);
+        ByteBuffer records;
+        try {
+            records = codec == NO_CODEC ? ByteBuffer.wrap(data) : codec.get().decompress(ByteBuffer.wrap(data));
+        } catch (IOException | AvroRuntimeException e) {
+            errors.add(new ValidationError("Failed to decompress block: " + e.getMessage(), "block[" + block + "]"));
+            return errors;
+        }
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(records.array(),
+                records.arrayOffset() + records.position(), records.remaining(), null);
+        try {
+            if (writerSchema == null) {
+                AvroDecoderValidator recordValidator = AvroDecoderValidator.forBlock(block, errors, maxErrors);
+                for (long record = 0; record < count; record++) {
+                    if (!recordValidator.validateRecord(schema, decoder, record)) {
+                        return errors;
+                    }
+                }
+            } else {
+                GenericDatumReader<Object> reader = new GenericDatumReader<>(writerSchema, schema);
+                Object reuse = null;
+                for (long record = 0; record < count; record++) {
+                    String context = "block[" + block + "].record[" + record + "]";
+                    try {
+                        reuse = reader.read(reuse, decoder);
+                    } catch (IOException | RuntimeException e) {
+                        // the datum reader reports malformed data with any runtime exception
+                        errors.add(new ValidationError("Malformed Avro payload: " + e.getMessage(), context));
+                        ErrorLimitReached.check(errors.size(), maxErrors);
+                        return errors;
+                    }
+                    AvroValidationResult result = validator.validateDatum(schema, reuse);
+                    if (!result.success()) {
+                        for (ValidationError error : result.getValidationErrors()) {
+                            String path = error.getContext();
+                            errors.add(new ValidationError(error.getDescription(),
+                                    path.isEmpty() ? context : context + "." + path));
+                            ErrorLimitReached.check(errors.size(), maxErrors);
+                        }
+                    }
+                }
+            }
+            if (!decoder.isEnd()) {
+                errors.add(new ValidationError("Unexpected data after the last record of the block",
+                        "block[" + block + "]"));
+            }
+        } catch (ErrorLimitReached e) {
+            // the rest of the block is not read
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return errors;
+    }
+
+    /**
+     * Codec instances hold decompression state, each block gets its own. The codecs are created directly as the factories
+     * of {@link org.apache.avro.file.CodecFactory} do not expose their instances.
+     *
+     * @return a supplier of codec instances, or null if the codec is not supported
+     */
+    private static Supplier<Codec> codec(String name) {
+        switch (name) {
+            case DataFileConstants.NULL_CODEC:
+                return NO_CODEC;
+            case DataFileConstants.DEFLATE_CODEC:
+                return () -> new DeflateCodec(CodecFactory.DEFAULT_DEFLATE_LEVEL);
+            case DataFileConstants.BZIP2_CODEC:
+                return BZip2Codec::new;
+            case DataFileConstants.XZ_CODEC:
+                return () -> new XZCodec(CodecFactory.DEFAULT_XZ_LEVEL);
+            case DataFileConstants.ZSTANDARD_CODEC:
+                return () -> new ZstandardCodec(CodecFactory.DEFAULT_ZSTANDARD_LEVEL, false,
+                        CodecFactory.DEFAULT_ZSTANDARD_BUFFERPOOL);
+            default:
+                return null;
+        }
+    }
+
+    private static List<ValidationError> await(CompletableFuture<List<ValidationError>> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class SeekableInputStream extends InputStream {
+
+        private final SeekableInput input;
+
+        SeekableInputStream(SeekableInput input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int read = input.read(b, off, len);
+            return read <= 0 ? -1 : read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            long remaining = input.length() - input.tell();
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, remaining));
+        }
+    }
+}
@@ -24,11 +24,22 @@ import io.apicurio.registry.utils.IoUtil;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class AvroSchemaParser implements SchemaParser<Schema, GenericRecord> {
 
+    private static final int REFERENCE_CACHE_SIZE = 1000;
+
+    // named types of the referenced schemas by content hash
+    private final BoundedCache<String, Collection<Schema>> referencedTypes = new BoundedCache<>(REFERENCE_CACHE_SIZE);
+
     @Override
     public String artifactType() {
         return ArtifactType.AVRO;
@@ -37,21 +48,55 @@ public class AvroSchemaParser implements SchemaParser<Schema, GenericRecord> {
     @Override
     public Schema parseSchema(byte[] rawSchema, Map<String, ParsedSchema<Schema>> resolvedReferences) {
         Schema.Parser parser = new Schema.Parser();
-        resolveReferences(resolvedReferences, parser);
+        parser.addTypes(resolveReferences(resolvedReferences.values()));
         return parser.parse(IoUtil.toString(rawSchema));
     }
 
-    private void resolveReferences(Map<String, ParsedSchema<Schema>> resolvedReferences, Schema.Parser parser) {
-        resolvedReferences.forEach((referenceName, schema) -> {
-            if (schema.hasReferences()) {
-                resolveReferences(schema.getSchemaReferences()
-                        .stream()
-                        .collect(Collectors.toMap(ParsedSchema::referenceName, ps -> ps)), parser);
+    /**
+     * @return the named types defined by the references and by the schemas they reference in turn, each referenced
+     * schema content is parsed once and its named types are shared by every schema referencing it
+     */
+    private Collection<Schema> resolveReferences(Collection<ParsedSchema<Schema>> references) {
+        Map<String, Schema> types = new LinkedHashMap<>();
+        for (ParsedSchema<Schema> reference : references) {
+            for (Schema type : referencedTypes(reference)) {
+                types.putIfAbsent(type.getFullName(), type);
+            }
+        }
+        return types.values();
+    }
+
+    private Collection<Schema> referencedTypes(ParsedSchema<Schema> reference) {
+        return referencedTypes.computeIfAbsent(contentKey(reference), key -> {
+            Schema.Parser parser = new Schema.Parser();
+            if (reference.hasReferences()) {
+                parser.addTypes(resolveReferences(reference.getSchemaReferences()));
             }
-            parser.parse(IoUtil.toString(schema.getRawSchema()));
+            parser.parse(IoUtil.toString(reference.getRawSchema()));
+            return List.copyOf(parser.getTypes().values());
         });
     }
 
+    /**
+     * Hash of the content of a referenced schema and of the contents of the schemas it references, the same named
+     * type may be defined differently by two versions of an artifact.
+     */
+    private static String contentKey(ParsedSchema<Schema> reference) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(reference.getRawSchema());
+        if (reference.hasReferences()) {
+            for (ParsedSchema<Schema> nested : reference.getSchemaReferences()) {
+                digest.update(contentKey(nested).getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     @Override
     public ParsedSchema<Schema> getSchemaFromData(Record<GenericRecord> data) {
         return null;
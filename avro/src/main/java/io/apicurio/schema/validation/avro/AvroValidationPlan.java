@@ -0,0 +1,578 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.avro;
+
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validation plan for GenericRecords of an Avro {@link Schema}, compiled once per schema.
+ * The schema is turned into a tree of nodes, one per schema type, and record fields are read by position. Records
+ * built from a schema with the same parsing canonical form fingerprint share the positions of the plan, the field
+ * layout of records of other schemas is computed once per fingerprint. Each record node remembers the layout of the
+ * schema instances it has seen, so a fingerprint is only computed the first time an instance is met.
+ * A record is first checked with a pass that only answers valid or not and allocates nothing, the errors and their
+ * paths are only collected by a second pass over records that are not valid.
+ */
+final class AvroValidationPlan {
+
+    private static final int MAX_LAYOUTS = 32;
+
+    private final Schema schema;
+    private final Node root;
+
+    private AvroValidationPlan(Schema schema, Node root) {
+        this.schema = schema;
+        this.root = root;
+    }
+
+    static AvroValidationPlan compile(Schema schema) {
+        return new AvroValidationPlan(schema, compile(schema, new IdentityHashMap<>()));
+    }
+
+    private static Node compile(Schema schema, Map<Schema, RecordNode> compiled) {
+        switch (schema.getType()) {
+            case RECORD:
+                RecordNode record = compiled.get(schema);
+                if (record == null) {
+                    // recursive records reuse the node being compiled
+                    record = new RecordNode(schema);
+                    compiled.put(schema, record);
+                    record.compileFields(compiled);
+                }
+                return record;
+            case UNION:
+                Node[] branches = new Node[schema.getTypes().size()];
+                for (int i = 0; i < branches.length; i++) {
+                    branches[i] = compile(schema.getTypes().get(i), compiled);
+                }
+                return new UnionNode(schema, branches);
+            case ENUM:
+                return new EnumNode(schema.getEnumSymbols());
+            case ARRAY:
+                return new ArrayNode(compile(schema.getElementType(), compiled));
+            case MAP:
+                return new MapNode(compile(schema.getValueType(), compiled));
+            case NULL:
+                return NullNode.INSTANCE;
+            default:
+                // GenericRecord does not check the values that are put into it
+                return new PrimitiveNode(schema);
+        }
+    }
+
+    /**
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    AvroValidationResult validate(GenericRecord record, int maxErrors) {
+        if (!(root instanceof RecordNode)) {
+            return AvroValidationResult.fromErrors(List.of(
+                new ValidationError("Expected RECORD schema but got " + schema.getType(), "")));
+        }
+        RecordNode recordNode = (RecordNode) root;
+        if (recordNode.isValidRecord(record)) {
+            return AvroValidationResult.SUCCESS;
+        }
+        List<ValidationError> errors = new ArrayList<>();
+        try {
+            recordNode.validateRecord(record, "", errors, maxErrors);
+        } catch (ErrorLimitReached e) {
+            // the rest of the record is not visited
+        }
+        return AvroValidationResult.fromErrors(errors);
+    }
+
+    /**
+     * Validates a datum of the schema of the plan, of any type.
+     *
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    AvroValidationResult validateDatum(Object datum, int maxErrors) {
+        if (root.isValid(datum)) {
+            return AvroValidationResult.SUCCESS;
+        }
+        List<ValidationError> errors = new ArrayList<>();
+        try {
+            root.validate(datum, "", errors, maxErrors);
+        } catch (ErrorLimitReached e) {
+            // the rest of the datum is not visited
+        }
+        return AvroValidationResult.fromErrors(errors);
+    }
+
+    /**
+     * @return the 64-bit Rabin fingerprint of the parsing canonical form of the schema
+     */
+    static long fingerprint(Schema schema) {
+        return SchemaNormalization.parsingFingerprint64(schema);
+    }
+
+    private static void error(List<ValidationError> errors, int maxErrors, ValidationError error) {
+        errors.add(error);
+        ErrorLimitReached.check(errors.size(), maxErrors);
+    }
+
+    private abstract static class Node {
+
+        /**
+         * @return true if validating the value would not report any error
+         */
+        abstract boolean isValid(Object value);
+
+        abstract void validate(Object value, String path, List<ValidationError> errors, int maxErrors);
+    }
+
+    private static final class RecordNode extends Node {
+
+        private final Schema schema;
+        private String[] names;
+        private boolean[] required;
+        private Node[] fields;
+        private int[] positions;
+        private final long fingerprint;
+        private final Map<Long, int[]> layouts = new ConcurrentHashMap<>();
+        // layouts by record schema instance, schemas are compared by identity, equals walks the whole schema
+        private final Map<Schema, int[]> instances = new IdentityHashMap<>();
+        private volatile FieldMapping lastMapping;
+
+        RecordNode(Schema schema) {
+            this.schema = schema;
+            this.fingerprint = fingerprint(schema);
+        }
+
+        void compileFields(Map<Schema, RecordNode> compiled) {
+            List<Schema.Field> schemaFields = schema.getFields();
+            names = new String[schemaFields.size()];
+            required = new boolean[schemaFields.size()];
+            fields = new Node[schemaFields.size()];
+            positions = new int[schemaFields.size()];
+            for (int i = 0; i < fields.length; i++) {
+                Schema.Field field = schemaFields.get(i);
+                names[i] = field.name();
+                required[i] = !isNullable(field.schema()) && field.defaultVal() == null;
+                fields[i] = compile(field.schema(), compiled);
+                positions[i] = field.pos();
+            }
+        }
+
+        /**
+         * @return the position of each field in the schema of the record, -1 for fields the record does not have
+         */
+        private int[] positions(Schema recordSchema) {
+            if (recordSchema == schema) {
+                return positions;
+            }
+            FieldMapping mapping = lastMapping;
+            if (mapping != null && mapping.recordSchema == recordSchema) {
+                return mapping.positions;
+            }
+            int[] mapped;
+            synchronized (instances) {
+                mapped = instances.get(recordSchema);
+            }
+            if (mapped == null) {
+                mapped = mapPositions(recordSchema);
+                synchronized (instances) {
+                    if (instances.size() >= MAX_LAYOUTS) {
+                        instances.clear();
+                    }
+                    instances.put(recordSchema, mapped);
+                }
+            }
+            lastMapping = new FieldMapping(recordSchema, mapped);
+            return mapped;
+        }
+
+        private int[] mapPositions(Schema recordSchema) {
+            // another instance of the same schema has the same layout, other schemas, usually a writer or an older
+            // version of the schema, are mapped by name once per fingerprint
+            long recordFingerprint = fingerprint(recordSchema);
+            int[] mapped = recordFingerprint == fingerprint ? positions : layouts.get(recordFingerprint);
+            if (mapped == null) {
+                mapped = new int[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    Schema.Field field = recordSchema.getField(names[i]);
+                    mapped[i] = field == null ? -1 : field.pos();
+                }
+                if (layouts.size() < MAX_LAYOUTS) {
+                    layouts.put(recordFingerprint, mapped);
+                }
+            }
+            return mapped;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            return value instanceof GenericRecord && isValidRecord((GenericRecord) value);
+        }
+
+        boolean isValidRecord(GenericRecord record) {
+            int[] recordPositions = positions(record.getSchema());
+            for (int i = 0; i < fields.length; i++) {
+                Object value = recordPositions[i] < 0 ? null : record.get(recordPositions[i]);
+                if (value == null ? required[i] : !fields[i].isValid(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (value instanceof GenericRecord) {
+                validateRecord((GenericRecord) value, path, errors, maxErrors);
+            } else {
+                error(errors, maxErrors, new ValidationError(
+                    "Expected GenericRecord but got " + typeName(value), path));
+            }
+        }
+
+        void validateRecord(GenericRecord record, String path, List<ValidationError> errors, int maxErrors) {
+            int[] recordPositions = positions(record.getSchema());
+            for (int i = 0; i < fields.length; i++) {
+                String fieldPath = path.isEmpty() ? names[i] : path + "." + names[i];
+                Object value = recordPositions[i] < 0 ? null : record.get(recordPositions[i]);
+                if (value == null) {
+                    if (required[i]) {
+                        error(errors, maxErrors, new ValidationError("Missing required field: " + names[i], fieldPath));
+                    }
+                } else {
+                    fields[i].validate(value, fieldPath, errors, maxErrors);
+                }
+            }
+        }
+
+        private static boolean isNullable(Schema schema) {
+            if (schema.getType() == Schema.Type.NULL) {
+                return true;
+            }
+            if (schema.getType() == Schema.Type.UNION) {
+                return schema.getTypes().stream().anyMatch(s -> s.getType() == Schema.Type.NULL);
+            }
+            return false;
+        }
+    }
+
+    private static final class FieldMapping {
+
+        private final Schema recordSchema;
+        private final int[] positions;
+
+        FieldMapping(Schema recordSchema, int[] positions) {
+            this.recordSchema = recordSchema;
+            this.positions = positions;
+        }
+    }
+
+    /**
+     * Picks the branch of the union from the kind of the value, the same way as
+     * {@link org.apache.avro.generic.GenericData#resolveUnion(Schema, Object)} does: values of a logical type conversion
+     * go to the first branch with that logical type, named values by the full name of their schema and other values
+     * by their type. Only that branch is checked.
+     */
+    private static final class UnionNode extends Node {
+
+        private static final int BY_NAME = -2;
+
+        private final Schema union;
+        private final Node[] branches;
+        private final int[] branchByKind = new int[AvroValueKind.values().length];
+
+        UnionNode(Schema union, Node[] branches) {
+            this.union = union;
+            this.branches = branches;
+            for (AvroValueKind kind : AvroValueKind.values()) {
+                branchByKind[kind.ordinal()] = -1;
+                if (kind == AvroValueKind.RECORD || kind == AvroValueKind.ENUM || kind == AvroValueKind.FIXED) {
+                    branchByKind[kind.ordinal()] = BY_NAME;
+                } else if (kind.type() != null) {
+                    Integer index = union.getIndexNamed(kind.type().getName());
+                    branchByKind[kind.ordinal()] = index == null ? -1 : index;
+                } else {
+                    List<Schema> types = union.getTypes();
+                    for (int i = 0; i < types.size(); i++) {
+                        if (types.get(i).getLogicalType() != null && kind.isLogical(types.get(i).getLogicalType().getName())) {
+                            branchByKind[kind.ordinal()] = i;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private Node branch(Object value) {
+            int index = branchByKind[AvroValueKind.of(value).ordinal()];
+            if (index == BY_NAME) {
+                Integer named = union.getIndexNamed(((GenericContainer) value).getSchema().getFullName());
+                index = named == null ? -1 : named;
+            }
+            return index < 0 ? null : branches[index];
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            Node branch = branch(value);
+            return branch != null && branch.isValid(value);
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            Node branch = branch(value);
+            if (branch == null) {
+                error(errors, maxErrors, new ValidationError(
+                    "Value does not match any type in union for field: " + path, path));
+            } else {
+                branch.validate(value, path, errors, maxErrors);
+            }
+        }
+    }
+
+    private static final class EnumNode extends Node {
+
+        private final List<String> symbols;
+        private final Set<String> symbolSet;
+        private final Set<Utf8> utf8Symbols;
+
+        EnumNode(List<String> symbols) {
+            this.symbols = symbols;
+            this.symbolSet = new HashSet<>(symbols);
+            this.utf8Symbols = new HashSet<>();
+            for (String symbol : symbols) {
+                utf8Symbols.add(new Utf8(symbol));
+            }
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (value instanceof Utf8) {
+                // Utf8.toString() decodes a new String, Utf8 values are compared on their bytes instead
+                return utf8Symbols.contains(value);
+            }
+            // enum symbols and String values return their text without copying it
+            return value != null && symbolSet.contains(value.toString());
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (!isValid(value)) {
+                error(errors, maxErrors, new ValidationError(
+                    "Invalid enum value '" + value + "'. Expected one of: " + symbols, path));
+            }
+        }
+    }
+
+    private static final class ArrayNode extends Node {
+
+        private final Node element;
+
+        ArrayNode(Node element) {
+            this.element = element;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (!(value instanceof Collection)) {
+                return false;
+            }
+            // an iterator walks a LinkedList in linear time, List.get(i) would not
+            for (Object item : (Collection<?>) value) {
+                if (!element.isValid(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (value instanceof Collection) {
+                int i = 0;
+                for (Object item : (Collection<?>) value) {
+                    element.validate(item, path + "[" + i + "]", errors, maxErrors);
+                    i++;
+                }
+            } else {
+                error(errors, maxErrors, new ValidationError("Expected array but got " + typeName(value), path));
+            }
+        }
+    }
+
+    private static final class MapNode extends Node {
+
+        private final Node valueNode;
+
+        MapNode(Node valueNode) {
+            this.valueNode = valueNode;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (value instanceof Map) {
+                for (Object entryValue : ((Map<?, ?>) value).values()) {
+                    if (!valueNode.isValid(entryValue)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    valueNode.validate(entry.getValue(), path + "[\"" + entry.getKey() + "\"]", errors, maxErrors);
+                }
+            } else {
+                error(errors, maxErrors, new ValidationError("Expected map but got " + typeName(value), path));
+            }
+        }
+    }
+
+    private static final class NullNode extends Node {
+
+        static final NullNode INSTANCE = new NullNode();
+
+        @Override
+        boolean isValid(Object value) {
+            return value == null;
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (value != null) {
+                error(errors, maxErrors, new ValidationError("Expected null but got " + typeName(value), path));
+            }
+        }
+    }
+
+    /**
+     * Checks the Java type of primitive values, fixed sizes and the values of logical type conversions: decimal scale
+     * and precision, and dates and timestamps that fit the encoded type.
+     * Numeric types accept any {@link Number}, like {@link org.apache.avro.generic.GenericDatumWriter} which writes its
+     * int, long, float or double value. In a union the branch is still picked from the exact type of the value.
+     */
+    private static final class PrimitiveNode extends Node {
+
+        private final Schema schema;
+        private final AvroValueKind kind;
+        private final AvroValueKind logicalKind;
+        private final boolean numeric;
+        private final long unitsPerSecond;
+
+        PrimitiveNode(Schema schema) {
+            this.schema = schema;
+            this.kind = schema.getType() == Schema.Type.FIXED ? AvroValueKind.FIXED
+                    : AvroValueKind.valueOf(schema.getType().name());
+            this.logicalKind = AvroValueKind.logicalKind(schema);
+            this.numeric = kind == AvroValueKind.INT || kind == AvroValueKind.LONG || kind == AvroValueKind.FLOAT
+                    || kind == AvroValueKind.DOUBLE;
+            String logicalType = schema.getLogicalType() == null ? "" : schema.getLogicalType().getName();
+            this.unitsPerSecond = logicalType.endsWith("-nanos") ? 1_000_000_000L
+                    : logicalType.endsWith("-micros") ? 1_000_000L : 1_000L;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            AvroValueKind valueKind = AvroValueKind.of(value);
+            if (valueKind == kind) {
+                return kind != AvroValueKind.FIXED || ((GenericFixed) value).bytes().length == schema.getFixedSize();
+            }
+            if (numeric && value instanceof Number) {
+                return true;
+            }
+            if (valueKind != logicalKind || valueKind == null) {
+                return false;
+            }
+            switch (valueKind) {
+                case DECIMAL:
+                    if (schema.getLogicalType() instanceof LogicalTypes.Decimal) {
+                        LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) schema.getLogicalType();
+                        BigDecimal number = (BigDecimal) value;
+                        return number.scale() == decimal.getScale() && number.precision() <= decimal.getPrecision();
+                    }
+                    return true;
+                case DATE:
+                    long epochDay = ((LocalDate) value).toEpochDay();
+                    return epochDay >= Integer.MIN_VALUE && epochDay <= Integer.MAX_VALUE;
+                case TIMESTAMP:
+                    return fitsLong(((Instant) value).getEpochSecond());
+                case LOCAL_TIMESTAMP:
+                    return fitsLong(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC));
+                default:
+                    return true;
+            }
+        }
+
+        private boolean fitsLong(long epochSecond) {
+            // the sub-second part may add or remove up to one second of units
+            return epochSecond > Long.MIN_VALUE / unitsPerSecond && epochSecond < Long.MAX_VALUE / unitsPerSecond;
+        }
+
+        @Override
+        void validate(Object value, String path, List<ValidationError> errors, int maxErrors) {
+            if (isValid(value)) {
+                return;
+            }
+            AvroValueKind valueKind = AvroValueKind.of(value);
+            String description;
+            if (valueKind == AvroValueKind.FIXED && kind == AvroValueKind.FIXED) {
+                description = "Expected fixed of size " + schema.getFixedSize() + " but got "
+                        + ((GenericFixed) value).bytes().length + " bytes";
+            } else if (valueKind == logicalKind && valueKind == AvroValueKind.DECIMAL) {
+                LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) schema.getLogicalType();
+                description = "Expected decimal with scale " + decimal.getScale() + " and precision at most "
+                        + decimal.getPrecision() + " but got " + value;
+            } else if (valueKind == logicalKind) {
+                description = "Value " + value + " is out of range for " + schema.getLogicalType().getName();
+            } else {
+                description = "Expected " + schemaTypeName(schema) + " but got " + typeName(value);
+            }
+            error(errors, maxErrors, new ValidationError(description, path));
+        }
+
+        private static String schemaTypeName(Schema schema) {
+            return schema.getLogicalType() == null ? schema.getType().getName()
+                    : schema.getType().getName() + " (" + schema.getLogicalType().getName() + ")";
+        }
+    }
+
+    private static String typeName(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+}
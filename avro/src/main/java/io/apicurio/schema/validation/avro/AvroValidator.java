@@ -17,7 +17,8 @@
 package io.apicurio.schema.validation.avro;
 
 import io.apicurio.registry.resolver.DefaultSchemaResolver;
-import io.apicurio.registry.resolver.SchemaLookupResult;
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.SchemaParser;
 import io.apicurio.registry.resolver.SchemaResolver;
 import io.apicurio.registry.resolver.config.SchemaResolverConfig;
 import io.apicurio.registry.resolver.data.Record;
@@ -25,17 +26,31 @@ import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.rest.client.models.ProblemDetails;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.file.SeekableInput;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.JsonDecoder;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Provides validation APIs for data objects against an Avro Schema.
@@ -47,22 +62,49 @@ public class AvroValidator {
 
     private SchemaResolver<Schema, GenericRecord> schemaResolver;
     private ArtifactReference artifactReference;
+    private final int maxErrors;
+    private final SchemaLookup<Schema, AvroValidationResult> schemaLookup;
+    private final Path snapshotDir;
+    private final AtomicReference<List<ArtifactReference>> snapshotRefresh = new AtomicReference<>();
+    private final int fileParallelism;
+    private final BoundedCache<Schema, AvroValidationPlan> plans;
+    private final BoundedCache<Schema, Queue<JsonDecoder>> jsonDecoders;
+
+    private static final int JSON_DECODER_POOL_SIZE = 64;
+
+    // resolutions mostly wait for the registry, each one gets its own virtual thread
+    private static final Executor RESOLUTION_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("apicurio-avro-schema-resolution-", 0).factory());
 
     /**
      * Creates the Avro validator.
      * If artifactReference is provided it must exist in Apicurio Registry.
      *
-     * @param configuration     , configuration properties for {@link DefaultSchemaResolver} for config properties see {@link SchemaResolverConfig}
+     * @param configuration     , configuration properties for {@link DefaultSchemaResolver} for config properties see {@link SchemaResolverConfig}, validator specific properties are described in {@link AvroValidatorConfig}
      * @param artifactReference , optional {@link ArtifactReference} used as a static configuration to always use the same schema for validation when invoking {@link AvroValidator#validateByArtifactReference(GenericRecord)}
      */
     public AvroValidator(Map<String, Object> configuration, Optional<ArtifactReference> artifactReference) {
+        this(new AvroValidatorConfig(configuration));
         this.schemaResolver = new DefaultSchemaResolver<>();
-        this.schemaResolver.configure(configuration, new AvroSchemaParser());
+        AvroSchemaParser parser = new AvroSchemaParser();
+        this.schemaResolver.configure(configuration, parser);
         artifactReference.ifPresent(reference -> this.artifactReference = reference);
+        loadSnapshot(parser);
     }
 
     protected AvroValidator() {
         //for tests
+        this(new AvroValidatorConfig(Map.of()));
+    }
+
+    protected AvroValidator(AvroValidatorConfig config) {
+        this.maxErrors = config.getMaxErrors();
+        this.schemaLookup = new SchemaLookup<>(config.getSchemaCacheSize(), config.getSchemaCacheTtlMs(),
+                config.getNegativeCacheSize(), config.getNegativeCacheTtlMs());
+        this.snapshotDir = config.getSnapshotDir();
+        this.fileParallelism = config.getFileParallelism();
+        this.plans = new BoundedCache<>(config.getPlanCacheSize());
+        this.jsonDecoders = new BoundedCache<>(config.getPlanCacheSize());
     }
 
     /**
@@ -75,13 +117,22 @@ public class AvroValidator {
     public AvroValidationResult validateByArtifactReference(GenericRecord record) {
         Objects.requireNonNull(this.artifactReference,
                 "ArtifactReference must be provided when creating AvroValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        Schema schema;
         try {
-            SchemaLookupResult<Schema> schema = this.schemaResolver.resolveSchemaByArtifactReference(this.artifactReference);
-            return validate(schema.getParsedSchema().getParsedSchema(), record);
+            schema = lookupArtifactSchema(key);
         } catch (Exception e) {
-            return AvroValidationResult.fromErrors(List.of(
-                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
-            ));
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validate(schema, record);
+        } catch (Exception e) {
+            return resolutionError(e);
         }
     }
 
@@ -95,14 +146,108 @@ public class AvroValidator {
     public AvroValidationResult validateByArtifactReference(String json) {
         Objects.requireNonNull(this.artifactReference,
                 "ArtifactReference must be provided when creating AvroValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        Schema schema;
         try {
-            SchemaLookupResult<Schema> schema = this.schemaResolver.resolveSchemaByArtifactReference(this.artifactReference);
-            return validateJson(schema.getParsedSchema().getParsedSchema(), json);
+            schema = lookupArtifactSchema(key);
         } catch (Exception e) {
-            return AvroValidationResult.fromErrors(List.of(
-                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
-            ));
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validateJson(schema, json);
+        } catch (Exception e) {
+            return resolutionError(e);
+        }
+    }
+
+    /**
+     * Validates the provided Avro binary encoded data against an Avro Schema, the data is not decoded into a GenericRecord.
+     * The Avro Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     *
+     * @param payload , the Avro binary encoding of a single datum, without any framing or schema id.
+     * @return AvroValidationResult
+     */
+    public AvroValidationResult validateByArtifactReference(byte[] payload) {
+        return validateByArtifactReference(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Validates the provided Avro binary encoded data against an Avro Schema, the data is not decoded into a GenericRecord.
+     * The Avro Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     *
+     * @param payload , the Avro binary encoding of a single datum, from the position to the limit of the buffer. The position of the buffer is not changed.
+     * @return AvroValidationResult
+     */
+    public AvroValidationResult validateByArtifactReference(ByteBuffer payload) {
+        Objects.requireNonNull(this.artifactReference,
+                "ArtifactReference must be provided when creating AvroValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        Schema schema;
+        try {
+            schema = lookupArtifactSchema(key);
+        } catch (Exception e) {
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validateBinary(schema, payload);
+        } catch (Exception e) {
+            return resolutionError(e);
+        }
+    }
+
+    /**
+     * Validates every record of the provided Avro object container file against an Avro Schema.
+     * The Avro Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     * The blocks of the file are validated in parallel, see {@link AvroValidatorConfig#FILE_PARALLELISM}. Errors are reported in file order with a context starting with {@code block[i].record[j]}.
+     *
+     * @param file , the Avro object container file to validate, it may be written with a different but compatible schema.
+     * @return AvroValidationResult
+     * @throws IOException if the file cannot be read
+     */
+    public AvroValidationResult validateFileByArtifactReference(Path file) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(fileParallelism);
+        try (SeekableFileInput input = new SeekableFileInput(file.toFile())) {
+            return validateFileByArtifactReference(input, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates every record of the provided Avro object container file against an Avro Schema.
+     * The Avro Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     *
+     * @param input    , the Avro object container file to validate, it is read from the start.
+     * @param executor , the executor running the decompression and validation of the blocks.
+     * @return AvroValidationResult
+     * @throws IOException if the file cannot be read
+     */
+    public AvroValidationResult validateFileByArtifactReference(SeekableInput input, Executor executor) throws IOException {
+        Objects.requireNonNull(this.artifactReference,
+                "ArtifactReference must be provided when creating AvroValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
         }
+        Schema schema;
+        try {
+            schema = lookupArtifactSchema(key);
+        } catch (Exception e) {
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        return validateFile(schema, input, executor);
     }
 
     /**
@@ -115,30 +260,243 @@ public class AvroValidator {
      * @return AvroValidationResult
      */
     public AvroValidationResult validate(Record<GenericRecord> record) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            // failed recently, the schema resolver is not asked again until the failure expires
+            return failure;
+        }
+        Schema schema;
+        try {
+            schema = lookupSchema(key, record);
+        } catch (Exception e) {
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validate(schema, record.payload());
+        } catch (Exception e) {
+            return resolutionError(e);
+        }
+    }
+
+    /**
+     * Validates the payloads of the provided records, resolving each schema once per batch.
+     * Records are grouped by the {@link ArtifactReference} of their metadata, the schema of each group is resolved with the first record of the group
+     * and then used to validate all the records of the group. Records without an artifact reference are resolved one by one, like in {@link #validate(Record)}.
+     *
+     * @param records , the records used to resolve the schemas used for validation and to provide the payloads to validate.
+     * @return the validation results, in the same order as the provided records
+     */
+    public List<AvroValidationResult> validateAll(Collection<? extends Record<GenericRecord>> records) {
+        refreshSnapshot();
+        AvroValidationResult[] results = new AvroValidationResult[records.size()];
+        Map<ArtifactKey, List<Map.Entry<Integer, Record<GenericRecord>>>> groups = new LinkedHashMap<>();
+        int index = 0;
+        for (Record<GenericRecord> record : records) {
+            ArtifactKey key = ArtifactKey.of(record);
+            if (key == null) {
+                results[index] = validate(record);
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(Map.entry(index, record));
+            }
+            index++;
+        }
+
+        for (Map.Entry<ArtifactKey, List<Map.Entry<Integer, Record<GenericRecord>>>> entry : groups.entrySet()) {
+            List<Map.Entry<Integer, Record<GenericRecord>>> group = entry.getValue();
+            AvroValidationResult failure = schemaLookup.failure(entry.getKey());
+            Schema schema = null;
+            if (failure == null) {
+                try {
+                    schema = lookupSchema(entry.getKey(), group.get(0).getValue());
+                } catch (Exception e) {
+                    failure = schemaLookup.fail(entry.getKey(), e, this::resolutionError);
+                }
+            }
+            if (failure != null) {
+                AvroValidationResult groupFailure = failure;
+                group.forEach(indexed -> results[indexed.getKey()] = groupFailure);
+                continue;
+            }
+            for (Map.Entry<Integer, Record<GenericRecord>> indexed : group) {
+                try {
+                    results[indexed.getKey()] = validate(schema, indexed.getValue().payload());
+                } catch (Exception e) {
+                    results[indexed.getKey()] = resolutionError(e);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * See {@link #validateAsync(Record, Executor)}, schemas that are not cached are resolved on virtual threads.
+     *
+     * @param record , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @return the AvroValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<AvroValidationResult> validateAsync(Record<GenericRecord> record) {
+        return validateAsync(record, RESOLUTION_EXECUTOR);
+    }
+
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * When the schema of the record artifact has been resolved recently, see {@link AvroValidatorConfig#SCHEMA_CACHE_TTL_MS}, the record is validated
+     * on the calling thread and the returned stage is already complete. Otherwise the schema is resolved and the record validated on the provided executor.
+     *
+     * @param record   , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @param executor , the executor resolving the schema when it is not cached.
+     * @return the AvroValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<AvroValidationResult> validateAsync(Record<GenericRecord> record, Executor executor) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        AvroValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return CompletableFuture.completedFuture(failure);
+        }
+        Schema schema = schemaLookup.cached(key);
+        if (schema == null) {
+            return CompletableFuture.supplyAsync(() -> validate(record), executor);
+        }
+        // resolved recently, the record is validated on the calling thread
+        try {
+            return CompletableFuture.completedFuture(validate(schema, record.payload()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(resolutionError(e));
+        }
+    }
+
+    /**
+     * Resolves and compiles the schemas of the provided artifacts in parallel, so that the first records of these artifacts do not wait for the registry.
+     * The resolved schemas are used by {@link #validate(Record)}, {@link #validateAll(Collection)} and {@link #validateAsync(Record)} for records carrying the same
+     * {@link ArtifactReference} until the artifact is warmed up again, whatever the {@link AvroValidatorConfig#SCHEMA_CACHE_TTL_MS}, so they remain available while the registry cannot be reached. When {@link AvroValidatorConfig#SNAPSHOT_DIR} is set the raw schemas are also stored there, to be loaded by the next validator instances.
+     *
+     * @param references , the artifacts to resolve.
+     * @return the AvroValidationResult of the resolution of each artifact, in the same order as the provided references
+     */
+    public List<AvroValidationResult> warmUp(Collection<ArtifactReference> references) {
+        refreshSnapshot();
+        List<CompletableFuture<AvroValidationResult>> warmUps = new ArrayList<>(references.size());
+        for (ArtifactReference reference : references) {
+            warmUps.add(CompletableFuture.supplyAsync(() -> warmUp(reference), RESOLUTION_EXECUTOR));
+        }
+        List<AvroValidationResult> results = new ArrayList<>(warmUps.size());
+        for (CompletableFuture<AvroValidationResult> warmUp : warmUps) {
+            results.add(warmUp.join());
+        }
+        return results;
+    }
+
+    /**
+     * Loads the schemas stored in the {@link AvroValidatorConfig#SNAPSHOT_DIR}.
+     * The schemas are refreshed from the registry in the background once the validator is first used, not while it is being created.
+     */
+    final void loadSnapshot(SchemaParser<Schema, GenericRecord> parser) {
+        if (snapshotDir == null) {
+            return;
+        }
+        Map<ArtifactKey, ParsedSchema<Schema>> snapshot = SchemaSnapshot.read(snapshotDir, parser);
+        List<ArtifactReference> references = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, schema) -> {
+            compile(schema.getParsedSchema());
+            schemaLookup.pin(key, schema.getParsedSchema());
+            references.add(key.toReference());
+        });
+        if (!references.isEmpty()) {
+            snapshotRefresh.set(references);
+        }
+    }
+
+    private void refreshSnapshot() {
+        if (snapshotRefresh.get() != null) {
+            List<ArtifactReference> references = snapshotRefresh.getAndSet(null);
+            if (references != null) {
+                CompletableFuture.runAsync(() -> warmUp(references), RESOLUTION_EXECUTOR);
+            }
+        }
+    }
+
+    /**
+     * Resolves the schema used to validate the provided record.
+     */
+    protected Schema resolveSchema(Record<GenericRecord> record) {
+        return this.schemaResolver.resolveSchema(record).getParsedSchema().getParsedSchema();
+    }
+
+    /**
+     * Resolves the schema of the provided artifact, with its raw content and references.
+     */
+    protected ParsedSchema<Schema> resolveSchema(ArtifactReference reference) {
+        return this.schemaResolver.resolveSchemaByArtifactReference(reference).getParsedSchema();
+    }
+
+    private AvroValidationResult resolutionError(Exception e) {
+        return AvroValidationResult.fromErrors(List.of(
+            new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
+        ));
+    }
+
+    private Schema lookupSchema(ArtifactKey key, Record<GenericRecord> record) {
+        return schemaLookup.resolve(key, () -> resolveSchema(record));
+    }
+
+    /**
+     * Resolves the schema of the {@link ArtifactReference} provided in the constructor, sharing the caches of the records of the same artifact.
+     */
+    private Schema lookupArtifactSchema(ArtifactKey key) {
+        return schemaLookup.resolve(key, () -> resolveSchema(this.artifactReference).getParsedSchema());
+    }
+
+    private AvroValidationResult warmUp(ArtifactReference reference) {
+        ParsedSchema<Schema> schema;
         try {
-            SchemaLookupResult<Schema> schema = this.schemaResolver.resolveSchema(record);
-            return validate(schema.getParsedSchema().getParsedSchema(), record.payload());
+            schema = resolveSchema(reference);
+            compile(schema.getParsedSchema());
         } catch (Exception e) {
             return AvroValidationResult.fromErrors(List.of(
                 new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
             ));
         }
+        ArtifactKey key = ArtifactKey.of(reference);
+        schemaLookup.pin(key, schema.getParsedSchema());
+        if (snapshotDir != null) {
+            try {
+                SchemaSnapshot.write(snapshotDir, key, schema);
+            } catch (IOException e) {
+                return AvroValidationResult.fromErrors(List.of(
+                    new ValidationError("Failed to write schema snapshot: " + e.getMessage(), "SCHEMA_SNAPSHOT_ERROR")
+                ));
+            }
+        }
+        return AvroValidationResult.SUCCESS;
+    }
+
+    private void compile(Schema schema) {
+        plans.computeIfAbsent(schema, AvroValidationPlan::compile);
     }
 
     protected AvroValidationResult validate(Schema schema, GenericRecord record) {
-        List<ValidationError> errors = new ArrayList<>();
-        validateRecord(schema, record, "", errors);
-        if (!errors.isEmpty()) {
-            return AvroValidationResult.fromErrors(errors);
-        }
-        return AvroValidationResult.SUCCESS;
+        return plans.computeIfAbsent(schema, AvroValidationPlan::compile).validate(record, maxErrors);
+    }
+
+    AvroValidationResult validateDatum(Schema schema, Object datum) {
+        return plans.computeIfAbsent(schema, AvroValidationPlan::compile).validateDatum(datum, maxErrors);
     }
 
     protected AvroValidationResult validateJson(Schema schema, String json) {
+        // decoders hold the parsing grammar of the schema, they are reused instead of being built for each document
+        Queue<JsonDecoder> decoders = jsonDecoders.computeIfAbsent(schema, s -> new ArrayBlockingQueue<>(JSON_DECODER_POOL_SIZE));
+        JsonDecoder decoder = decoders.poll();
         try {
-            JsonDecoder decoder = DecoderFactory.get().jsonDecoder(schema, json);
-            DatumReader<GenericRecord> reader = new GenericDatumReader<>(schema);
-            reader.read(null, decoder);
+            if (decoder == null) {
+                decoder = DecoderFactory.get().jsonDecoder(schema, json);
+            } else {
+                decoder.configure(json);
+            }
+            AvroDecoderValidator.read(schema, decoder);
             return AvroValidationResult.SUCCESS;
         } catch (AvroTypeException e) {
             return AvroValidationResult.fromErrors(List.of(
@@ -148,107 +506,19 @@ public class AvroValidator {
             return AvroValidationResult.fromErrors(List.of(
                 new ValidationError(e.getMessage(), "VALIDATION_ERROR")
             ));
-        }
-    }
-
-    private void validateRecord(Schema schema, GenericRecord record, String path, List<ValidationError> errors) {
-        if (schema.getType() != Schema.Type.RECORD) {
-            errors.add(new ValidationError("Expected RECORD schema but got " + schema.getType(), path));
-            return;
-        }
-
-        Schema recordSchema = record.getSchema();
-        for (Schema.Field field : schema.getFields()) {
-            String fieldPath = path.isEmpty() ? field.name() : path + "." + field.name();
-
-            // Check if the field exists in the record's own schema
-            if (recordSchema.getField(field.name()) == null) {
-                if (!isNullable(field.schema()) && field.defaultVal() == null) {
-                    errors.add(new ValidationError("Missing required field: " + field.name(), fieldPath));
-                }
-                continue;
-            }
-
-            Object value = record.get(field.name());
-
-            if (value == null) {
-                if (!isNullable(field.schema()) && field.defaultVal() == null) {
-                    errors.add(new ValidationError("Missing required field: " + field.name(), fieldPath));
-                }
-            } else {
-                validateValue(field.schema(), value, fieldPath, errors);
+        } finally {
+            if (decoder != null) {
+                decoders.offer(decoder);
             }
         }
     }
 
-    private void validateValue(Schema schema, Object value, String path, List<ValidationError> errors) {
-        switch (schema.getType()) {
-            case UNION:
-                boolean matched = false;
-                for (Schema unionType : schema.getTypes()) {
-                    List<ValidationError> unionErrors = new ArrayList<>();
-                    validateValue(unionType, value, path, unionErrors);
-                    if (unionErrors.isEmpty()) {
-                        matched = true;
-                        break;
-                    }
-                }
-                if (!matched) {
-                    errors.add(new ValidationError(
-                        "Value does not match any type in union for field: " + path, path));
-                }
-                break;
-            case RECORD:
-                if (value instanceof GenericRecord) {
-                    validateRecord(schema, (GenericRecord) value, path, errors);
-                } else {
-                    errors.add(new ValidationError(
-                        "Expected GenericRecord but got " + value.getClass().getSimpleName(), path));
-                }
-                break;
-            case ENUM:
-                if (!schema.getEnumSymbols().contains(value.toString())) {
-                    errors.add(new ValidationError(
-                        "Invalid enum value '" + value + "'. Expected one of: " + schema.getEnumSymbols(), path));
-                }
-                break;
-            case ARRAY:
-                if (value instanceof java.util.Collection) {
-                    int i = 0;
-                    for (Object item : (java.util.Collection<?>) value) {
-                        validateValue(schema.getElementType(), item, path + "[" + i + "]", errors);
-                        i++;
-                    }
-                }
-                break;
-            case MAP:
-                if (value instanceof java.util.Map) {
-                    for (Map.Entry<?, ?> entry : ((java.util.Map<?, ?>) value).entrySet()) {
-                        validateValue(schema.getValueType(), entry.getValue(),
-                            path + "[\"" + entry.getKey() + "\"]", errors);
-                    }
-                }
-                break;
-            case NULL:
-                if (value != null) {
-                    errors.add(new ValidationError("Expected null but got " + value.getClass().getSimpleName(), path));
-                }
-                break;
-            default:
-                // Primitive types (STRING, INT, LONG, FLOAT, DOUBLE, BOOLEAN, BYTES, FIXED)
-                // are validated by the Avro framework itself when setting values on GenericRecord
-                break;
-        }
+    protected AvroValidationResult validateBinary(Schema schema, ByteBuffer payload) {
+        return AvroDecoderValidator.validate(schema, payload, maxErrors);
     }
 
-    private boolean isNullable(Schema schema) {
-        if (schema.getType() == Schema.Type.NULL) {
-            return true;
-        }
-        if (schema.getType() == Schema.Type.UNION) {
-            return schema.getTypes().stream().anyMatch(s -> s.getType() == Schema.Type.NULL);
-        }
-        return false;
+    protected AvroValidationResult validateFile(Schema schema, SeekableInput input, Executor executor) throws IOException {
+        return AvroFileValidator.validate(this, schema, input, executor, fileParallelism, maxErrors);
     }
 
     private String extractErrorMessage(Exception e) {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Kind of a Java value with respect to Avro schema types, looked up once per class in a dispatch table.
+ * Plain kinds are the representations of the generic data model, logical kinds are the classes produced by the
+ * standard logical type conversions. The classes are tested in the same order as
+ * {@link org.apache.avro.generic.GenericData#resolveUnion(Schema, Object)} does.
+ */
+enum AvroValueKind {
+
+    NULL(Schema.Type.NULL),
+    RECORD(null),
+    ENUM(null),
+    ARRAY(Schema.Type.ARRAY),
+    MAP(Schema.Type.MAP),
+    FIXED(null),
+    STRING(Schema.Type.STRING),
+    BYTES(Schema.Type.BYTES),
+    INT(Schema.Type.INT),
+    LONG(Schema.Type.LONG),
+    FLOAT(Schema.Type.FLOAT),
+    DOUBLE(Schema.Type.DOUBLE),
+    BOOLEAN(Schema.Type.BOOLEAN),
+    DECIMAL(null, "decimal", "big-decimal"),
+    UUID_VALUE(null, "uuid"),
+    DATE(null, "date"),
+    TIME(null, "time-millis", "time-micros"),
+    TIMESTAMP(null, "timestamp-millis", "timestamp-micros", "timestamp-nanos"),
+    LOCAL_TIMESTAMP(null, "local-timestamp-millis", "local-timestamp-micros", "local-timestamp-nanos"),
+    OTHER(null);
+
+    private static final ClassValue<AvroValueKind> KINDS = new ClassValue<>() {
+        @Override
+        protected AvroValueKind computeValue(Class<?> type) {
+            if (IndexedRecord.class.isAssignableFrom(type)) {
+                return RECORD;
+            }
+            if (GenericEnumSymbol.class.isAssignableFrom(type)) {
+                return ENUM;
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return ARRAY;
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            }
+            if (GenericFixed.class.isAssignableFrom(type)) {
+                return FIXED;
+            }
+            if (CharSequence.class.isAssignableFrom(type)) {
+                return STRING;
+            }
+            if (ByteBuffer.class.isAssignableFrom(type)) {
+                return BYTES;
+            }
+            if (type == Integer.class) {
+                return INT;
+            }
+            if (type == Long.class) {
+                return LONG;
+            }
+            if (type == Float.class) {
+                return FLOAT;
+            }
+            if (type == Double.class) {
+                return DOUBLE;
+            }
+            if (type == Boolean.class) {
+                return BOOLEAN;
+            }
+            if (BigDecimal.class.isAssignableFrom(type)) {
+                return DECIMAL;
+            }
+            if (type == UUID.class) {
+                return UUID_VALUE;
+            }
+            if (type == LocalDate.class) {
+                return DATE;
+            }
+            if (type == LocalTime.class) {
+                return TIME;
+            }
+            if (type == Instant.class) {
+                return TIMESTAMP;
+            }
+            if (type == LocalDateTime.class) {
+                return LOCAL_TIMESTAMP;
+            }
+            return OTHER;
+        }
+    };
+
+    private final Schema.Type type;
+    private final Set<String> logicalTypes;
+
+    AvroValueKind(Schema.Type type, String... logicalTypes) {
+        this.type = type;
+        this.logicalTypes = Set.of(logicalTypes);
+    }
+
+    static AvroValueKind of(Object value) {
+        return value == null ? NULL : KINDS.get(value.getClass());
+    }
+
+    /**
+     * @return the unnamed schema type of the values of this kind, or null for named types and logical kinds
+     */
+    Schema.Type type() {
+        return type;
+    }
+
+    /**
+     * @return true if the values of this kind are produced by the conversion of the logical type
+     */
+    boolean isLogical(String logicalType) {
+        return logicalTypes.contains(logicalType);
+    }
+
+    /**
+     * @return the logical kind of the values converted by the logical type of the schema, or null if there is none
+     */
+    static AvroValueKind logicalKind(Schema schema) {
+        if (schema.getLogicalType() == null) {
+            return null;
+        }
+        for (AvroValueKind kind : values()) {
+            if (kind.isLogical(schema.getLogicalType().getName())) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.avro;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Thread safe cache holding at most {@code maxSize} entries, evicting the oldest entries first.
+ * Lookups are lock free. Values may be computed more than once under contention, the first stored value wins.
+ */
+final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    V get(K key) {
+        return entries.get(key);
+    }
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (maxSize <= 0 || value == null) {
+            return value;
+        }
+        V previous = entries.putIfAbsent(key, value);
+        if (previous != null) {
+            return previous;
+        }
+        added(key);
+        return value;
+    }
+
+    /**
+     * Stores the value, replacing the value of the key if there is one.
+     */
+    void put(K key, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.put(key, value) == null) {
+            added(key);
+        }
+    }
+
+    /**
+     * Removes the entry if the key is still mapped to the provided value.
+     */
+    void remove(K key, V value) {
+        if (entries.remove(key, value)) {
+            // a value stored again for the key is queued again, the old position must not be left behind
+            insertionOrder.remove(key);
+        }
+    }
+
+    private void added(K key) {
+        insertionOrder.add(key);
+        while (entries.size() > maxSize) {
+            K eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            entries.remove(eldest);
+        }
+    }
+
+    /**
+     * @return the number of keys in the eviction order, equal to the number of entries once concurrent updates settled
+     */
+    int queuedKeys() {
+        return insertionOrder.size();
+    }
+
+    void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+}
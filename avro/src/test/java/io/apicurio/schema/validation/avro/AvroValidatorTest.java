@@ -17,17 +17,51 @@ package io.apicurio.schema.validation.avro;
 
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.ParsedSchemaImpl;
+import io.apicurio.registry.resolver.config.SchemaResolverConfig;
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.utils.IoUtil;
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.file.SeekableByteArrayInput;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.util.Utf8;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,6 +97,61 @@ public class AvroValidatorTest {
         assertEquals(1, result.getValidationErrors().size());
     }
 
+    @Test
+    public void testRecordsOfEquivalentAndOtherSchemas() {
+        AvroValidator validator = new AvroValidator();
+
+        Schema schema = loadSchema("message.avsc");
+        Schema sameSchema = loadSchema("message.avsc");
+        Schema otherSchema = loadSchema("message-invalid.avsc");
+        assertNotSame(schema, sameSchema);
+        assertEquals(AvroValidationPlan.fingerprint(schema), AvroValidationPlan.fingerprint(sameSchema));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(validator.validate(schema, createTestRecord(sameSchema)).success());
+            assertEquals(1, validator.validate(otherSchema, createTestRecord(schema)).getValidationErrors().size());
+            assertEquals(1, validator.validate(otherSchema, createTestRecord(sameSchema)).getValidationErrors().size());
+        }
+    }
+
+    @Test
+    public void testPrimitiveAndLogicalTypes() {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = loadSchema("payment.avsc");
+        Schema currency = schema.getField("currency").schema();
+
+        GenericRecord payment = new GenericData.Record(schema);
+        payment.put("amount", new BigDecimal("12.50"));
+        payment.put("created", Instant.parse("2024-01-01T10:00:00Z"));
+        payment.put("day", LocalDate.of(2024, 1, 1));
+        payment.put("currency", new GenericData.Fixed(currency, "EUR".getBytes(StandardCharsets.UTF_8)));
+        payment.put("installments", 3);
+        payment.put("rate", 0.5d);
+        payment.put("refund", new BigDecimal("1.00"));
+        assertTrue(validator.validate(schema, payment).success());
+
+        // the encoded representations are accepted as well
+        payment.put("amount", ByteBuffer.wrap(new byte[] {4, -30}));
+        payment.put("created", 1704103200000000L);
+        payment.put("day", 19723);
+        payment.put("refund", null);
+        assertTrue(validator.validate(schema, payment).success());
+
+        payment.put("amount", new BigDecimal("12.5"));
+        payment.put("created", Instant.MAX);
+        payment.put("day", "2024-01-01");
+        payment.put("currency", new GenericData.Fixed(currency, "EURO".getBytes(StandardCharsets.UTF_8)));
+        payment.put("installments", "3");
+        payment.put("rate", true);
+        payment.put("refund", 1.0d);
+        var result = validator.validate(schema, payment);
+
+        assertFalse(result.success());
+        assertEquals(List.of("amount", "created", "day", "currency", "installments", "rate", "refund"),
+                result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+        assertEquals("Expected int but got String", result.getValidationErrors().get(4).getDescription());
+    }
+
     @Test
     public void testValidJson() {
         AvroValidator validator = new AvroValidator();
@@ -89,6 +178,23 @@ public class AvroValidatorTest {
         assertFalse(result.getValidationErrors().isEmpty());
     }
 
+    @Test
+    public void testJsonDecodersAreReused() {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = loadSchema("order.avsc");
+        String valid = "{\"id\":\"A-1\",\"status\":\"NEW\",\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":2}],"
+                + "\"attributes\":{\"a\":{\"long\":1},\"b\":null},\"checksum\":\"\\u0000\\u0001\\u0002\\u0003\",\"note\":{\"string\":\"x\"}}";
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(validator.validateJson(schema, valid).success());
+            var result = validator.validateJson(schema, valid.replace("\"NEW\"", "\"LOST\""));
+            assertFalse(result.success());
+            assertEquals("TYPE_ERROR", result.getValidationErrors().get(0).getContext());
+            assertFalse(validator.validateJson(schema, valid.replace("\"quantity\":2", "\"quantity\":\"2\"")).success());
+            assertFalse(validator.validateJson(schema, valid.substring(0, 40)).success());
+        }
+    }
+
     @Test
     public void testValidRecordWithReferences() {
         AvroValidator validator = new AvroValidator();
@@ -154,6 +260,775 @@ public class AvroValidatorTest {
         assertNotNull(result.getValidationErrors());
     }
 
+    @Test
+    public void testSharedReferencesAreParsedOnce() {
+        AvroSchemaParser parser = new AvroSchemaParser();
+        byte[] addressBytes = readResourceBytes("address.avsc");
+
+        // two artifacts referencing the same address content, the second one only reads it to hash it
+        AtomicInteger reads = new AtomicInteger();
+        Schema first = parser.parseSchema(readResourceBytes("message-with-ref.avsc"),
+                Map.of("address.avsc", addressReference(addressBytes, reads)));
+        int firstReads = reads.get();
+        Schema second = parser.parseSchema(readResourceBytes("message-with-ref.avsc"),
+                Map.of("address.avsc", addressReference(addressBytes, reads)));
+        assertEquals(firstReads + 1, reads.get());
+        assertEquals(first, second);
+
+        // a diamond through a shipment and an invoice both referencing the address
+        Schema diamond = parser.parseSchema(("{\"type\":\"record\",\"name\":\"Delivery\",\"namespace\":\"io.apicurio.schema.validation.avro\","
+                        + "\"fields\":[{\"name\":\"shipment\",\"type\":\"Shipment\"},{\"name\":\"invoice\",\"type\":\"Invoice\"}]}")
+                        .getBytes(StandardCharsets.UTF_8),
+                Map.of("shipment", withAddress("Shipment", addressBytes, reads), "invoice", withAddress("Invoice", addressBytes, reads)));
+        assertEquals(first.getField("address").schema(), diamond.getField("invoice").schema().getField("to").schema());
+
+        // another content for the same type name is parsed on its own
+        byte[] otherAddress = readResource("address.avsc").replace("\"city\"", "\"town\"").getBytes(StandardCharsets.UTF_8);
+        Schema third = parser.parseSchema(readResourceBytes("message-with-ref.avsc"),
+                Map.of("address.avsc", addressReference(otherAddress, reads)));
+        assertNotNull(third.getField("address").schema().getField("town"));
+    }
+
+    private static ParsedSchemaImpl<Schema> addressReference(byte[] addressBytes, AtomicInteger reads) {
+        ParsedSchemaImpl<Schema> reference = new ParsedSchemaImpl<Schema>() {
+            @Override
+            public byte[] getRawSchema() {
+                reads.incrementAndGet();
+                return super.getRawSchema();
+            }
+        };
+        return reference.setRawSchema(addressBytes).setReferenceName("address.avsc");
+    }
+
+    private static ParsedSchemaImpl<Schema> withAddress(String name, byte[] addressBytes, AtomicInteger reads) {
+        String schema = "{\"type\":\"record\",\"name\":\"" + name + "\",\"namespace\":\"io.apicurio.schema.validation.avro\","
+                + "\"fields\":[{\"name\":\"to\",\"type\":\"Address\"}]}";
+        return new ParsedSchemaImpl<Schema>()
+                .setRawSchema(schema.getBytes(StandardCharsets.UTF_8))
+                .setReferenceName(name)
+                .setSchemaReferences(List.of(addressReference(addressBytes, reads)));
+    }
+
+    @Test
+    public void testMaxErrors() {
+        Schema schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"Batch\",\"fields\":[{\"name\":\"levels\","
+                + "\"type\":{\"type\":\"array\",\"items\":{\"type\":\"enum\",\"name\":\"Level\",\"symbols\":[\"LOW\",\"HIGH\"]}}}]}");
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("levels", List.of("X", "Y", "Z"));
+
+        var allErrors = new AvroValidator().validate(schema, record);
+        var maxErrors = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.MAX_ERRORS, 2)))
+                .validate(schema, record);
+        var failFast = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.FAIL_FAST, "true")))
+                .validate(schema, record);
+
+        assertEquals(3, allErrors.getValidationErrors().size());
+        assertEquals(2, maxErrors.getValidationErrors().size());
+        assertEquals(1, failFast.getValidationErrors().size());
+        assertEquals("levels[0]", failFast.getValidationErrors().get(0).getContext());
+    }
+
+    @Test
+    public void testWarmUpAndSnapshot(@TempDir Path directory) throws IOException {
+        byte[] addressBytes = readResourceBytes("address.avsc");
+        byte[] mainBytes = readResourceBytes("message-with-ref.avsc");
+        AvroSchemaParser parser = new AvroSchemaParser();
+        ParsedSchemaImpl<Schema> address = new ParsedSchemaImpl<Schema>()
+                .setParsedSchema(new Schema.Parser().parse(IoUtil.toString(addressBytes)))
+                .setRawSchema(addressBytes)
+                .setReferenceName("address.avsc");
+        ParsedSchemaImpl<Schema> main = new ParsedSchemaImpl<Schema>()
+                .setParsedSchema(parser.parseSchema(mainBytes, Map.of("address.avsc", address)))
+                .setRawSchema(mainBytes)
+                .setSchemaReferences(List.of(address));
+
+        AvroValidatorConfig config = new AvroValidatorConfig(Map.of(AvroValidatorConfig.SNAPSHOT_DIR, directory.toString()));
+        AtomicInteger resolutions = new AtomicInteger();
+        AvroValidator validator = new AvroValidator(config) {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                throw new IllegalStateException("not warmed up");
+            }
+
+            @Override
+            protected ParsedSchema<Schema> resolveSchema(ArtifactReference reference) {
+                resolutions.incrementAndGet();
+                if (!"message-with-ref".equals(reference.getArtifactId())) {
+                    throw new IllegalStateException("artifact not found");
+                }
+                return main;
+            }
+        };
+        ArtifactReference reference = ArtifactReference.builder().groupId("default").artifactId("message-with-ref").build();
+        ArtifactReference missing = ArtifactReference.builder().groupId("default").artifactId("missing").build();
+
+        List<AvroValidationResult> results = validator.warmUp(List.of(reference, missing));
+        assertTrue(results.get(0).success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", results.get(1).getValidationErrors().get(0).getContext());
+        assertEquals(2, resolutions.get());
+
+        GenericRecord addressRecord = new GenericData.Record(address.getParsedSchema());
+        addressRecord.put("street", "123 Main St");
+        addressRecord.put("city", "Springfield");
+        GenericRecord payload = new GenericData.Record(main.getParsedSchema());
+        payload.put("message", "hello");
+        payload.put("address", addressRecord);
+        AvroRecord record = new AvroRecord(payload, new AvroMetadata(reference));
+        assertTrue(validator.validate(record).success());
+
+        // a corrupt file of the snapshot is skipped
+        Files.write(directory.resolve("corrupt.schema"), new byte[] {0, 0, 0, 1, 1});
+
+        // a length larger than the file is rejected before allocating the schema
+        Path oversized = Files.createDirectory(directory.resolve("oversized"));
+        SchemaSnapshot.write(oversized, ArtifactKey.of(reference), address);
+        try (var files = Files.list(oversized)) {
+            Path file = files.findFirst().orElseThrow();
+            byte[] content = Files.readAllBytes(file);
+            int length = new String(content, StandardCharsets.ISO_8859_1).indexOf(new String(addressBytes, StandardCharsets.ISO_8859_1)) - 4;
+            ByteBuffer.wrap(content).putInt(length, Integer.MAX_VALUE);
+            Files.write(file, content);
+        }
+        assertTrue(SchemaSnapshot.read(oversized, parser).isEmpty());
+
+        // a new validator validates with the snapshot while the registry is unavailable
+        AtomicInteger refreshes = new AtomicInteger();
+        AvroValidator restarted = new AvroValidator(config) {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                throw new IllegalStateException("registry unavailable");
+            }
+
+            @Override
+            protected ParsedSchema<Schema> resolveSchema(ArtifactReference reference) {
+                refreshes.incrementAndGet();
+                throw new IllegalStateException("registry unavailable");
+            }
+        };
+        restarted.loadSnapshot(new AvroSchemaParser());
+        // the snapshot is refreshed from the registry once the validator is used, not while it is created
+        assertEquals(0, refreshes.get());
+        assertTrue(restarted.validate(record).success());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (refreshes.get() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, refreshes.get());
+        // the snapshot schemas are pinned, with the default time to live, until a refresh succeeds
+        assertTrue(restarted.validate(record).success());
+        assertFalse(restarted.validate(new AvroRecord(payload, null)).success());
+    }
+
+    @Test
+    public void testRefreshedCacheEntriesAreQueuedOnce() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("other", 0);
+        for (int i = 0; i < 1000; i++) {
+            // an expired entry is removed and then stored again by the next resolution
+            cache.put("artifact", i);
+            cache.remove("artifact", i);
+        }
+        cache.put("artifact", 1000);
+        assertEquals(2, cache.queuedKeys());
+        assertEquals(0, cache.get("other"));
+        assertEquals(1000, cache.get("artifact"));
+
+        cache.remove("artifact", 999);
+        assertEquals(1000, cache.get("artifact"));
+        assertEquals(2, cache.queuedKeys());
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneResolution() throws Exception {
+        Schema schema = loadSchema("message.avsc");
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AvroValidator validator = new AvroValidator() {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                resolutions.incrementAndGet();
+                resolving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return schema;
+            }
+        };
+        AvroRecord record = new AvroRecord(createTestRecord(schema),
+                new AvroMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AvroValidationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> validator.validate(record)));
+            }
+            resolving.await();
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<AvroValidationResult> result : results) {
+                assertTrue(result.get().success());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testFailedResolutionsAreCached() throws Exception {
+        AtomicInteger resolutions = new AtomicInteger();
+        AvroValidator validator = new AvroValidator() {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                resolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        AvroRecord record = new AvroRecord(createTestRecord(loadSchema("message.avsc")),
+                new AvroMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build()));
+
+        AvroValidationResult result = validator.validate(record);
+        assertFalse(result.success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", result.getValidationErrors().get(0).getContext());
+        assertSame(result, validator.validate(record));
+        assertSame(result, validator.validateAll(List.of(record, record)).get(1));
+        assertSame(result, validator.validateAsync(record).toCompletableFuture().getNow(null));
+        assertEquals(1, resolutions.get());
+
+        // records without an artifact reference have no key to remember the failure by
+        AvroRecord unkeyed = new AvroRecord(createTestRecord(loadSchema("message.avsc")), null);
+        assertFalse(validator.validate(unkeyed).success());
+        assertFalse(validator.validate(unkeyed).success());
+        assertEquals(3, resolutions.get());
+
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        AvroValidator uncached = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.NEGATIVE_CACHE_TTL_MS, 0))) {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                uncachedResolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        assertFalse(uncached.validate(record).success());
+        assertFalse(uncached.validate(record).success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testConcurrentArtifactReferenceMissesShareOneResolution() throws Exception {
+        Schema schema = loadSchema("message.avsc");
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ArtifactReference reference = ArtifactReference.builder().groupId("default").artifactId("message").build();
+        AvroValidator validator = new AvroValidator(Map.of(SchemaResolverConfig.REGISTRY_URL, "http://localhost:8080/apis/registry/v2"),
+                Optional.of(reference)) {
+            @Override
+            protected ParsedSchema<Schema> resolveSchema(ArtifactReference artifactReference) {
+                resolutions.incrementAndGet();
+                resolving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new ParsedSchemaImpl<Schema>().setParsedSchema(schema);
+            }
+        };
+        GenericRecord record = createTestRecord(schema);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AvroValidationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> validator.validateByArtifactReference(record)));
+            }
+            resolving.await();
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<AvroValidationResult> result : results) {
+                assertTrue(result.get().success());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testFailedArtifactReferenceResolutionsAreCached() {
+        AtomicInteger resolutions = new AtomicInteger();
+        ArtifactReference reference = ArtifactReference.builder().groupId("default").artifactId("message").build();
+        AvroValidator validator = new AvroValidator(Map.of(SchemaResolverConfig.REGISTRY_URL, "http://localhost:8080/apis/registry/v2"),
+                Optional.of(reference)) {
+            @Override
+            protected ParsedSchema<Schema> resolveSchema(ArtifactReference artifactReference) {
+                resolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+
+        AvroValidationResult result = validator.validateByArtifactReference(createTestRecord(loadSchema("message.avsc")));
+        assertFalse(result.success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", result.getValidationErrors().get(0).getContext());
+        assertSame(result, validator.validateByArtifactReference(new byte[0]));
+        assertSame(result, validator.validateByArtifactReference("{}"));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testValidateAsync() {
+        Schema schema = loadSchema("message.avsc");
+        AtomicInteger resolutions = new AtomicInteger();
+        // the default configuration validates records of recently resolved artifacts inline
+        AvroValidator validator = new AvroValidator() {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                resolutions.incrementAndGet();
+                return schema;
+            }
+        };
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        AvroMetadata metadata = new AvroMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build());
+        AvroRecord record = new AvroRecord(createTestRecord(schema), metadata);
+
+        assertTrue(validator.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(1, tasks.get());
+
+        // the schema is cached, the record is validated inline
+        CompletableFuture<AvroValidationResult> cached = validator.validateAsync(record, executor).toCompletableFuture();
+        assertTrue(cached.isDone());
+        assertTrue(cached.join().success());
+        assertEquals(1, tasks.get());
+        assertEquals(1, resolutions.get());
+
+        // records without artifact reference are always resolved on the executor
+        AvroRecord anonymous = new AvroRecord(createTestRecord(schema), null);
+        assertTrue(validator.validateAsync(anonymous, executor).toCompletableFuture().join().success());
+        assertEquals(2, tasks.get());
+        assertTrue(validator.validateAsync(anonymous).toCompletableFuture().join().success());
+        assertEquals(3, resolutions.get());
+
+        // without a schema cache every record is resolved, the schema resolver decides when to contact the registry
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        AvroValidator uncached = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.SCHEMA_CACHE_TTL_MS, 0))) {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                uncachedResolutions.incrementAndGet();
+                return validator.resolveSchema(record);
+            }
+        };
+        assertTrue(uncached.validate(record).success());
+        assertTrue(uncached.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testValidateAllResolvesEachSchemaOnce() {
+        Schema validSchema = loadSchema("message.avsc");
+        Schema invalidSchema = loadSchema("message-invalid.avsc");
+        AtomicInteger resolutions = new AtomicInteger();
+        AvroValidator validator = new AvroValidator() {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                resolutions.incrementAndGet();
+                boolean invalid = record.metadata() != null
+                        && "message-invalid".equals(record.metadata().artifactReference().getArtifactId());
+                return invalid ? invalidSchema : validSchema;
+            }
+        };
+        AvroMetadata message = new AvroMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build());
+        AvroMetadata messageInvalid = new AvroMetadata(
+                ArtifactReference.builder().groupId("default").artifactId("message-invalid").build());
+
+        GenericRecord record = createTestRecord(validSchema);
+        List<AvroValidationResult> results = validator.validateAll(List.of(
+                new AvroRecord(record, message),
+                new AvroRecord(record, messageInvalid),
+                new AvroRecord(record, message),
+                new AvroRecord(record, null),
+                new AvroRecord(record, messageInvalid)));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertTrue(results.get(2).success());
+        assertTrue(results.get(3).success());
+        assertFalse(results.get(4).success());
+        assertEquals(3, resolutions.get());
+
+        // a record whose validation throws gets its own error result, the rest of the batch is validated
+        GenericRecord failing = createTestRecord(validSchema);
+        AvroValidator throwing = new AvroValidator() {
+            @Override
+            protected Schema resolveSchema(Record<GenericRecord> record) {
+                return validSchema;
+            }
+
+            @Override
+            protected AvroValidationResult validate(Schema schema, GenericRecord payload) {
+                if (payload == failing) {
+                    throw new IllegalStateException("cannot validate");
+                }
+                return super.validate(schema, payload);
+            }
+        };
+        results = throwing.validateAll(List.of(
+                new AvroRecord(record, message),
+                new AvroRecord(failing, message),
+                new AvroRecord(record, message)));
+        assertTrue(results.get(0).success());
+        assertEquals(throwing.validate(new AvroRecord(failing, message)).getValidationErrors().toString(),
+                results.get(1).getValidationErrors().toString());
+        assertTrue(results.get(2).success());
+    }
+
+    @Test
+    public void testBinaryPayload() throws IOException {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = loadSchema("order.avsc");
+
+        GenericRecord line = new GenericData.Record(schema.getField("lines").schema().getElementType());
+        line.put("sku", "ABC-1");
+        line.put("quantity", 2);
+        GenericRecord order = new GenericData.Record(schema);
+        order.put("id", "A-1");
+        order.put("status", new GenericData.EnumSymbol(schema.getField("status").schema(), "SHIPPED"));
+        order.put("lines", List.of(line, line));
+        order.put("attributes", Map.of("a", 1L, "b", 2L));
+        order.put("checksum", new GenericData.Fixed(schema.getField("checksum").schema(), new byte[] {1, 2, 3, 4}));
+        order.put("note", "fragile");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(schema).write(order, encoder);
+        encoder.flush();
+        byte[] payload = out.toByteArray();
+
+        assertTrue(validator.validateBinary(schema, ByteBuffer.wrap(payload)).success());
+        ByteBuffer direct = ByteBuffer.allocateDirect(payload.length + 2);
+        direct.put(new byte[2]).put(payload).flip().position(2);
+        assertTrue(validator.validateBinary(schema, direct).success());
+        assertEquals(2, direct.position());
+
+        byte[] trailing = Arrays.copyOf(payload, payload.length + 1);
+        var result = validator.validateBinary(schema, ByteBuffer.wrap(trailing));
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+
+        result = validator.validateBinary(schema, ByteBuffer.wrap(payload, 0, payload.length - 3));
+        assertFalse(result.success());
+        assertTrue(result.getValidationErrors().get(0).getDescription().startsWith("Malformed Avro payload"));
+
+        result = validator.validateBinary(schema, ByteBuffer.wrap(encodeOrder(7, 0)));
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+        assertEquals("status", result.getValidationErrors().get(0).getContext());
+
+        result = validator.validateBinary(schema, ByteBuffer.wrap(encodeOrder(0, 5)));
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+        assertEquals("attributes[\"a\"]", result.getValidationErrors().get(0).getContext());
+    }
+
+    @Test
+    public void testLinkedListArrays() {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = SchemaBuilder.record("Batch").fields()
+                .name("ids").type().array().items().stringType().noDefault()
+                .endRecord();
+
+        LinkedList<Object> ids = new LinkedList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add("id-" + i);
+        }
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("ids", ids);
+        assertTrue(validator.validate(schema, record).success());
+
+        ids.add(5);
+        var result = validator.validate(schema, record);
+        assertEquals(1, result.getValidationErrors().size());
+        assertEquals("ids[100000]", result.getValidationErrors().get(0).getContext());
+    }
+
+    @Test
+    public void testNumbersAreWidenedOutsideUnions() {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = SchemaBuilder.record("Measure").fields()
+                .requiredLong("count")
+                .requiredDouble("value")
+                .requiredFloat("ratio")
+                .optionalLong("total")
+                .endRecord();
+
+        // GenericDatumWriter writes any Number into a numeric field
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("count", 1);
+        record.put("value", 1.5f);
+        record.put("ratio", 2);
+        assertTrue(validator.validate(schema, record).success());
+        record.put("value", 3);
+        assertTrue(validator.validate(schema, record).success());
+
+        // the branch of a union is picked from the exact type of the value
+        record.put("total", 4);
+        var result = validator.validate(schema, record);
+        assertEquals(1, result.getValidationErrors().size());
+        assertEquals("total", result.getValidationErrors().get(0).getContext());
+        record.put("total", 4L);
+        assertTrue(validator.validate(schema, record).success());
+
+        record.put("count", "1");
+        assertFalse(validator.validate(schema, record).success());
+    }
+
+    @Test
+    public void testBinaryPayloadLengths() throws IOException {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = loadSchema("order.avsc");
+
+        // a zigzag encoded negative length for the id string
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        encoder.writeLong(-5);
+        encoder.writeFixed(new byte[16]);
+        encoder.flush();
+        byte[] negative = out.toByteArray();
+        for (ByteBuffer payload : List.of(ByteBuffer.wrap(negative), directBuffer(negative))) {
+            var result = validator.validateBinary(schema, payload);
+            assertEquals(1, result.getValidationErrors().size());
+            assertEquals("Malformed Avro payload: Negative length -5", result.getValidationErrors().get(0).getDescription());
+            assertEquals("id", result.getValidationErrors().get(0).getContext());
+        }
+
+        out.reset();
+        encoder.writeLong(Integer.MAX_VALUE);
+        encoder.writeFixed(new byte[16]);
+        encoder.flush();
+        byte[] tooLong = out.toByteArray();
+        for (ByteBuffer payload : List.of(ByteBuffer.wrap(tooLong), directBuffer(tooLong))) {
+            var result = validator.validateBinary(schema, payload);
+            assertEquals(1, result.getValidationErrors().size());
+            assertEquals("Malformed Avro payload: Length " + Integer.MAX_VALUE + " is larger than the 16 remaining bytes",
+                    result.getValidationErrors().get(0).getDescription());
+        }
+
+        // a huge block count is rejected before any item is read
+        Schema longs = Schema.createArray(Schema.create(Schema.Type.LONG));
+        out.reset();
+        encoder.writeLong(1_000_000_000);
+        encoder.writeLong(1);
+        encoder.flush();
+        var result = validator.validateBinary(longs, ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(1, result.getValidationErrors().size());
+        assertEquals("Malformed Avro payload: Block of 1000000000 values is larger than the 1 remaining bytes",
+                result.getValidationErrors().get(0).getDescription());
+        Schema strings = Schema.createMap(Schema.create(Schema.Type.STRING));
+        result = validator.validateBinary(strings, directBuffer(out.toByteArray()));
+        assertEquals(1, result.getValidationErrors().size());
+        assertTrue(result.getValidationErrors().get(0).getDescription().startsWith("Malformed Avro payload: Block of"));
+
+        // items without encoded data are not iterated
+        Schema nulls = Schema.createArray(Schema.create(Schema.Type.NULL));
+        out.reset();
+        encoder.writeLong(1_000_000_000);
+        encoder.writeLong(0);
+        encoder.flush();
+        assertTrue(validator.validateBinary(nulls, ByteBuffer.wrap(out.toByteArray())).success());
+
+        // counts over the limit of the Avro library are reported as malformed data
+        out.reset();
+        encoder.writeLong(Long.MAX_VALUE);
+        encoder.writeLong(0);
+        encoder.flush();
+        result = validator.validateBinary(nulls, ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(1, result.getValidationErrors().size());
+        assertTrue(result.getValidationErrors().get(0).getDescription().startsWith("Malformed Avro payload"));
+    }
+
+    private static ByteBuffer directBuffer(byte[] payload) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(payload.length);
+        direct.put(payload).flip();
+        return direct;
+    }
+
+    @Test
+    public void testRecordErrorPaths() {
+        AvroValidator validator = new AvroValidator();
+        Schema schema = loadSchema("order.avsc");
+        Schema lineSchema = schema.getField("lines").schema().getElementType();
+        Schema otherStatus = Schema.createEnum("Status", null, "io.apicurio.schema.validation.avro", List.of("LOST"));
+
+        GenericRecord line = new GenericData.Record(lineSchema);
+        line.put("sku", "ABC-1");
+        line.put("quantity", 2);
+        GenericRecord incompleteLine = new GenericData.Record(lineSchema);
+        incompleteLine.put("quantity", 1);
+        GenericRecord order = new GenericData.Record(schema);
+        order.put("id", "A-1");
+        order.put("status", new GenericData.EnumSymbol(otherStatus, "LOST"));
+        order.put("lines", List.of(line, incompleteLine));
+        order.put("attributes", Map.of("a", 1L));
+        order.put("checksum", new GenericData.Fixed(schema.getField("checksum").schema(), new byte[4]));
+
+        var result = validator.validate(schema, order);
+
+        assertFalse(result.success());
+        assertEquals(List.of("status", "lines[1].sku"),
+                result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+
+        order.put("status", new GenericData.EnumSymbol(schema.getField("status").schema(), "NEW"));
+        incompleteLine.put("sku", "ABC-2");
+        assertTrue(validator.validate(schema, order).success());
+
+        // union branches are picked from the type of the value
+        order.put("attributes", Map.of("a", "1"));
+        order.put("note", 5L);
+        result = validator.validate(schema, order);
+        assertEquals(List.of("attributes[\"a\"]", "note"),
+                result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+        order.put("attributes", Map.of("a", 1L, "b", new Utf8("x")));
+        order.put("note", new Utf8("fragile"));
+        assertEquals(List.of("attributes[\"b\"]"),
+                validator.validate(schema, order).getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+        order.put("attributes", Map.of());
+        order.put("status", new Utf8("SHIPPED"));
+        assertTrue(validator.validate(schema, order).success());
+        order.put("status", new Utf8("SHIPPED!").setByteLength(7));
+        assertTrue(validator.validate(schema, order).success());
+        order.put("status", new Utf8("LOST"));
+        assertEquals(List.of("status"),
+                validator.validate(schema, order).getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testContainerFile() throws IOException {
+        AvroValidator validator = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.FILE_PARALLELISM, 2)));
+        Schema schema = loadSchema("order.avsc");
+
+        // two records per block, the records 3 and 8 have an unknown enum symbol
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(schema))) {
+            writer.setCodec(CodecFactory.deflateCodec(1));
+            writer.create(schema, out);
+            for (int i = 0; i < 10; i++) {
+                writer.appendEncoded(ByteBuffer.wrap(encodeOrder(i == 3 || i == 8 ? 7 : 0, 0)));
+                if (i % 2 == 1) {
+                    writer.sync();
+                }
+            }
+        }
+        byte[] file = out.toByteArray();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            var result = validator.validateFile(schema, new SeekableByteArrayInput(file), executor);
+            assertFalse(result.success());
+            assertEquals(List.of("block[1].record[1].status", "block[4].record[0].status"),
+                    result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+
+            AvroValidator failFast = new AvroValidator(new AvroValidatorConfig(Map.of(AvroValidatorConfig.FAIL_FAST, true)));
+            result = failFast.validateFile(schema, new SeekableByteArrayInput(file), executor);
+            assertEquals(1, result.getValidationErrors().size());
+            assertEquals("block[1].record[1].status", result.getValidationErrors().get(0).getContext());
+
+            byte[] corrupt = Arrays.copyOf(file, file.length);
+            corrupt[corrupt.length - 1] ^= 1;
+            result = validator.validateFile(schema, new SeekableByteArrayInput(corrupt), executor);
+            assertEquals("block[4]", result.getValidationErrors().get(result.getValidationErrors().size() - 1).getContext());
+
+            // files written with an older schema are read into the validated schema
+            Schema writerSchema = SchemaBuilder.record("Order").namespace("io.apicurio.schema.validation.avro").fields()
+                    .requiredString("id")
+                    .name("status").type(schema.getField("status").schema()).noDefault()
+                    .name("lines").type(schema.getField("lines").schema()).noDefault()
+                    .name("attributes").type(schema.getField("attributes").schema()).noDefault()
+                    .name("checksum").type(schema.getField("checksum").schema()).noDefault()
+                    .endRecord();
+            out.reset();
+            try (DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(writerSchema))) {
+                writer.create(writerSchema, out);
+                GenericRecord order = new GenericData.Record(writerSchema);
+                order.put("id", "A-1");
+                order.put("status", new GenericData.EnumSymbol(schema.getField("status").schema(), "NEW"));
+                order.put("lines", List.of());
+                order.put("attributes", Map.of("a", 1L));
+                order.put("checksum", new GenericData.Fixed(schema.getField("checksum").schema(), new byte[4]));
+                writer.append(order);
+                writer.append(order);
+            }
+            assertTrue(validator.validateFile(schema, new SeekableByteArrayInput(out.toByteArray()), executor).success());
+
+            // records that cannot be read stop the validation of their block only
+            result = validator.validateFile(writerSchema, new SeekableByteArrayInput(file), executor);
+            assertEquals(List.of("block[1].record[1]", "block[4].record[0]"),
+                    result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+            result = validator.validateFile(loadSchema("payment.avsc"), new SeekableByteArrayInput(file), executor);
+            assertFalse(result.success());
+            assertEquals("header", result.getValidationErrors().get(0).getContext());
+
+            // values of a non record schema are promoted from the writer type
+            out.reset();
+            try (DataFileWriter<Object> writer = new DataFileWriter<>(new GenericDatumWriter<>(Schema.create(Schema.Type.INT)))) {
+                writer.create(Schema.create(Schema.Type.INT), out);
+                writer.append(1);
+                writer.append(2);
+            }
+            assertTrue(validator.validateFile(Schema.create(Schema.Type.LONG), new SeekableByteArrayInput(out.toByteArray()), executor).success());
+
+            // a block size larger than the rest of the file is reported without allocating the block
+            byte[] sync = Arrays.copyOfRange(file, file.length - 16, file.length);
+            int headerSize = 0;
+            while (!Arrays.equals(Arrays.copyOfRange(file, headerSize, headerSize + 16), sync)) {
+                headerSize++;
+            }
+            for (long size : new long[] {1L << 40, Integer.MAX_VALUE - 8, 64}) {
+                ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+                truncated.write(file, 0, headerSize + 16);
+                BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(truncated, null);
+                encoder.writeLong(1);
+                encoder.writeLong(size);
+                truncated.write(new byte[64]);
+                result = validator.validateFile(schema, new SeekableByteArrayInput(truncated.toByteArray()), executor);
+                assertEquals(List.of("block[0]"),
+                        result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] encodeOrder(int statusOrdinal, int attributeUnionIndex) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        encoder.writeString("A-1");
+        encoder.writeEnum(statusOrdinal);
+        encoder.writeArrayStart();
+        encoder.setItemCount(1);
+        encoder.startItem();
+        encoder.writeString("ABC-1");
+        encoder.writeInt(1);
+        encoder.writeArrayEnd();
+        encoder.writeMapStart();
+        encoder.setItemCount(1);
+        encoder.startItem();
+        encoder.writeString("a");
+        encoder.writeIndex(attributeUnionIndex);
+        encoder.writeMapEnd();
+        encoder.writeFixed(new byte[4]);
+        encoder.writeIndex(0);
+        encoder.flush();
+        return out.toByteArray();
+    }
+
     private GenericRecord createTestRecord(Schema schema) {
         GenericRecord record = new GenericData.Record(schema);
         record.put("message", "hello");
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Parses JSON straight from a {@link ByteBuffer}, direct and memory mapped buffers included.
+ * Heap buffers are parsed from their backing array, other buffers are fed as a single chunk to a non-blocking parser
+ * that reads them in place, so the bytes are never copied into an intermediate array.
+ * The position of the caller's buffer is left untouched.
+ */
+final class ByteBufferJsonParser extends JsonParserDelegate {
+
+    private ByteBufferJsonParser(JsonParser parser) {
+        super(parser);
+    }
+
+    static JsonParser create(JsonFactory factory, ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return factory.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        JsonParser parser = factory.createNonBlockingByteBufferParser();
+        ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        feeder.feedInput(buffer.duplicate());
+        feeder.endOfInput();
+        return new ByteBufferJsonParser(parser);
+    }
+
+    // the whole payload has been fed, a token that is not available means the document is truncated
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        return available(delegate.nextToken());
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        return available(delegate.nextValue());
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken current = delegate.currentToken();
+        // same as ParserMinimalBase, nothing to skip before the first token or outside of an object or array
+        if (current == null || !current.isStructStart()) {
+            return this;
+        }
+        int open = 1;
+        while (open > 0) {
+            JsonToken token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                open++;
+            } else if (token.isStructEnd()) {
+                open--;
+            }
+        }
+        return this;
+    }
+
+    private JsonToken available(JsonToken token) throws IOException {
+        if (token == JsonToken.NOT_AVAILABLE) {
+            throw new JsonEOFException(delegate, null, "Unexpected end-of-input");
+        }
+        return token;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.json;
+
+/**
+ * Unwinds a validation once the maximum number of errors has been found, see {@link JsonValidatorConfig#MAX_ERRORS}.
+ */
+final class ErrorLimitReached extends RuntimeException {
+
+    static final ErrorLimitReached INSTANCE = new ErrorLimitReached();
+
+    private ErrorLimitReached() {
+        super(null, null, false, false);
+    }
+
+    /**
+     * @throws ErrorLimitReached if the number of errors reached the maximum, a maximum of 0 means no limit
+     */
+    static void check(int errors, int maxErrors) {
+        if (errors == maxErrors) {
+            throw INSTANCE;
+        }
+    }
+}
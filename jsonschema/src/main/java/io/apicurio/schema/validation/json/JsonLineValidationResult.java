@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.json;
+
+/**
+ * Validation result of one line of a newline delimited JSON (JSON Lines) file.
+ */
+public class JsonLineValidationResult {
+
+    private final long lineNumber;
+    private final JsonValidationResult result;
+
+    public JsonLineValidationResult(long lineNumber, JsonValidationResult result) {
+        this.lineNumber = lineNumber;
+        this.result = result;
+    }
+
+    /**
+     * @return the number of the line in the file, starting at 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public JsonValidationResult getResult() {
+        return result;
+    }
+
+    public boolean success() {
+        return result.success();
+    }
+
+    @Override
+    public String toString() {
+        return "JsonLineValidationResult [ line = " + lineNumber + ", " + result + " ]";
+    }
+}
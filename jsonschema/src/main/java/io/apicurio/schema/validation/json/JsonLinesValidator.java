@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.json;
+
+import com.networknt.schema.JsonSchema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Validates a newline delimited JSON (JSON Lines) file with a single schema.
+ * The file is split into fixed size chunks that are memory mapped and validated in parallel. A chunk owns the lines
+ * that start inside it, the first partial line is left to the previous chunk and the last line is read past the end of
+ * the chunk. Every line is parsed in place from the mapped memory. Results are handed over in line order, on the
+ * calling thread, while the following chunks are still being validated; at most two chunks per thread are in flight.
+ */
+final class JsonLinesValidator {
+
+    private static final int MAX_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    private final JsonValidator validator;
+    private final JsonSchema schema;
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+
+    private JsonLinesValidator(JsonValidator validator, JsonSchema schema, FileChannel channel, int chunkSize)
+            throws IOException {
+        this.validator = validator;
+        this.schema = schema;
+        this.channel = channel;
+        this.size = channel.size();
+        this.chunkSize = chunkSize;
+    }
+
+    static void validate(JsonValidator validator, JsonSchema schema, Path file, int parallelism, int chunkSize,
+            Consumer<JsonLineValidationResult> results) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new JsonLinesValidator(validator, schema, channel, chunkSize).validate(parallelism, results);
+        }
+    }
+
+    private void validate(int parallelism, Consumer<JsonLineValidationResult> results) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            long next = 0;
+            long lineNumber = 0;
+            while (next < size || !pending.isEmpty()) {
+                while (next < size && pending.size() < parallelism * 2) {
+                    long start = next;
+                    pending.add(executor.submit(() -> validateChunk(start)));
+                    next += chunkSize;
+                }
+                Chunk chunk = await(pending.poll());
+                for (int i = 0; i < chunk.count; i++) {
+                    results.accept(new JsonLineValidationResult(lineNumber + chunk.lines[i], chunk.results[i]));
+                }
+                lineNumber += chunk.lineCount;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating JSON lines", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private Chunk validateChunk(long start) {
+        // the byte before the chunk tells whether the chunk starts with a new line
+        long from = Math.max(0, start - 1);
+        long rangeEnd = Math.min(size, start + chunkSize) - from;
+        MappedByteBuffer mapped = map(from, Math.min(size - from, Math.min((long) MAX_MAPPING_SIZE, 2L * chunkSize + 1)));
+
+        int position = 0;
+        if (start > 0) {
+            int newLine = indexOfNewLine(mapped, 0);
+            position = newLine < 0 ? mapped.limit() : newLine + 1;
+        }
+        Chunk chunk = new Chunk();
+        if (position >= rangeEnd) {
+            // a single line runs through the whole chunk
+            return chunk;
+        }
+        // the newline that terminates the last line starting in the chunk
+        int stop = indexOfNewLine(mapped, (int) Math.max(position, rangeEnd - 1));
+        while (stop < 0 && from + mapped.limit() < size && mapped.limit() < MAX_MAPPING_SIZE) {
+            int searched = mapped.limit();
+            mapped = map(from, Math.min(size - from, Math.min((long) MAX_MAPPING_SIZE, 2L * mapped.limit())));
+            stop = indexOfNewLine(mapped, searched);
+        }
+        int end = stop < 0 ? mapped.limit() : stop;
+
+        while (position < rangeEnd && position <= end) {
+            int lineEnd = indexOfNewLine(mapped, position);
+            if (lineEnd < 0 || lineEnd > end) {
+                lineEnd = end;
+            }
+            chunk.lineCount++;
+            int contentEnd = lineEnd;
+            if (contentEnd > position && mapped.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (!isBlank(mapped, position, contentEnd)) {
+                chunk.add(chunk.lineCount, validator.validateLine(schema, mapped.slice(position, contentEnd - position)));
+            }
+            position = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private MappedByteBuffer map(long from, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOfNewLine(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Results of the non blank lines of a chunk, line numbers are relative to the first line of the chunk.
+     */
+    private static final class Chunk {
+
+        private int lineCount;
+        private int count;
+        private int[] lines = new int[16];
+        private JsonValidationResult[] results = new JsonValidationResult[16];
+
+        void add(int line, JsonValidationResult result) {
+            if (count == lines.length) {
+                lines = Arrays.copyOf(lines, count * 2);
+                results = Arrays.copyOf(results, count * 2);
+            }
+            lines[count] = line;
+            results[count] = result;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.ExecutionContext;
+import com.networknt.schema.FailFastAssertionException;
+import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonNodePath;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.PathType;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.ValidationContext;
+import com.networknt.schema.ValidationMessage;
+import com.networknt.schema.ValidatorTypeCode;
+import com.networknt.schema.i18n.DefaultMessageSource;
+import com.networknt.schema.i18n.MessageSource;
+import com.networknt.schema.regex.RegularExpression;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates a JSON document against a {@link JsonSchema} while reading it from a {@link JsonParser}, without building
+ * a tree of the whole document. The schema is compiled once into a tree of {@link SchemaNode}s covering the core
+ * draft 6 and draft 7 keywords: type, enum, const, properties, required, additionalProperties, items, the size, length
+ * and range limits, pattern and local $ref. Subschemas using any other keyword are delegated to the json-schema-validator
+ * {@link JsonSchema} of that subschema, buffering only the value they apply to. Errors carry the same messages and
+ * codes that json-schema-validator reports for the same keywords.
+ */
+final class JsonStreamingValidator {
+
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$comment", "title", "description", "default",
+            "examples", "definitions", "readOnly", "writeOnly");
+
+    private static final Set<String> KEYWORDS = Set.of("type", "enum", "const", "properties", "required",
+            "additionalProperties", "items", "minItems", "maxItems", "minProperties", "maxProperties", "minLength",
+            "maxLength", "pattern", "minimum", "maximum", "exclusiveMinimum", "exclusiveMaximum");
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 1 << 1;
+    private static final int STRING = 1 << 2;
+    private static final int NUMBER = 1 << 3;
+    private static final int INTEGER = 1 << 4;
+    private static final int BOOLEAN = 1 << 5;
+    private static final int NULL = 1 << 6;
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final JsonSchema schema;
+    private final ValidationContext validationContext;
+    private final PathType pathType;
+    private final MessageSource messageSource;
+    private final Locale locale;
+    private final Map<String, SchemaNode> compiled = new HashMap<>();
+    private final SchemaNode root;
+
+    private JsonStreamingValidator(JsonSchema schema, boolean streamable) {
+        this.schema = schema;
+        this.validationContext = schema.getValidationContext();
+        SchemaValidatorsConfig config = validationContext.getConfig();
+        this.pathType = config.getPathType();
+        this.messageSource = config.getMessageSource() != null ? config.getMessageSource()
+                : DefaultMessageSource.getInstance();
+        this.locale = config.getLocale() != null ? config.getLocale() : Locale.getDefault();
+        if (streamable) {
+            this.root = compile(schema.getSchemaNode(), "");
+        } else {
+            this.root = new SchemaNode();
+            this.root.fallback = schema;
+        }
+    }
+
+    static JsonStreamingValidator compile(JsonSchema schema) {
+        String metaSchema = schema.getValidationContext().getMetaSchema().getIri();
+        boolean streamable = JsonMetaSchema.getV7().getIri().equals(metaSchema)
+                || JsonMetaSchema.getV6().getIri().equals(metaSchema);
+        try {
+            return new JsonStreamingValidator(schema, streamable);
+        } catch (RuntimeException e) {
+            // a subschema that cannot be located, validate the whole document with the schema instead
+            return new JsonStreamingValidator(schema, false);
+        }
+    }
+
+    /**
+     * Validates the value starting at the next token of the parser.
+     * The parser is left where the validation stopped when the maximum number of errors is reached.
+     *
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     * @return the validation errors, or null if the value is valid
+     */
+    List<ValidationError> validate(JsonParser parser, int maxErrors) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null) {
+            throw new IOException("No content to validate");
+        }
+        Execution execution = new Execution(maxErrors);
+        try {
+            execution.validate(root, parser, new JsonNodePath(pathType));
+        } catch (ErrorLimitReached e) {
+            // the remaining tokens are not read
+        }
+        return execution.errors;
+    }
+
+    private SchemaNode compile(JsonNode schemaNode, String pointer) {
+        SchemaNode node = compiled.get(pointer);
+        if (node != null) {
+            // recursive references reuse the node being compiled
+            return node;
+        }
+        node = new SchemaNode();
+        compiled.put(pointer, node);
+
+        if (schemaNode.isBoolean()) {
+            node.falseSchema = !schemaNode.booleanValue();
+            return node;
+        }
+        if (!isStreamable(schemaNode, pointer)) {
+            node.fallback = pointer.isEmpty() ? schema : schema.getSubSchema(schemaPath(pointer));
+            return node;
+        }
+
+        JsonNode ref = schemaNode.get("$ref");
+        if (ref != null) {
+            // draft 6 and draft 7 ignore the keywords next to $ref
+            String target = ref.asText().substring(1);
+            node.ref = compile(schema.getSchemaNode().at(target), target);
+            return node;
+        }
+
+        JsonNode type = schemaNode.get("type");
+        if (type != null) {
+            node.typeText = type.isArray() ? typeList(type) : type.asText();
+            node.unionType = type.isArray();
+            if (type.isArray()) {
+                for (JsonNode t : type) {
+                    node.types |= typeBit(t.asText());
+                }
+            } else {
+                node.types = typeBit(type.asText());
+            }
+        }
+        JsonNode enumValues = schemaNode.get("enum");
+        if (enumValues != null) {
+            node.enumValues = new HashSet<>();
+            List<String> texts = new ArrayList<>();
+            for (JsonNode value : enumValues) {
+                node.enumValues.add(key(value));
+                texts.add(value.toString());
+            }
+            node.enumText = "[" + String.join(", ", texts) + "]";
+        }
+        JsonNode constValue = schemaNode.get("const");
+        if (constValue != null) {
+            node.constValue = key(constValue);
+            node.constText = constValue.asText();
+        }
+
+        JsonNode properties = schemaNode.get("properties");
+        if (properties != null) {
+            node.properties = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = properties.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                node.properties.put(field.getKey(), compile(field.getValue(),
+                        pointer + "/properties/" + escape(field.getKey())));
+            }
+        }
+        JsonNode required = schemaNode.get("required");
+        if (required != null && required.size() > 0) {
+            node.required = new String[required.size()];
+            for (int i = 0; i < node.required.length; i++) {
+                node.required[i] = required.get(i).asText();
+            }
+        }
+        JsonNode additionalProperties = schemaNode.get("additionalProperties");
+        if (additionalProperties != null) {
+            if (additionalProperties.isBoolean()) {
+                node.additionalPropertiesAllowed = additionalProperties.booleanValue();
+            } else {
+                node.additionalProperties = compile(additionalProperties, pointer + "/additionalProperties");
+            }
+        }
+        JsonNode items = schemaNode.get("items");
+        if (items != null) {
+            node.items = compile(items, pointer + "/items");
+        }
+
+        node.minItems = intValue(schemaNode, "minItems");
+        node.maxItems = intValue(schemaNode, "maxItems");
+        node.minProperties = intValue(schemaNode, "minProperties");
+        node.maxProperties = intValue(schemaNode, "maxProperties");
+        node.minLength = intValue(schemaNode, "minLength");
+        node.maxLength = intValue(schemaNode, "maxLength");
+
+        JsonNode pattern = schemaNode.get("pattern");
+        if (pattern != null) {
+            node.patternText = pattern.asText();
+            node.pattern = RegularExpression.compile(node.patternText, validationContext);
+        }
+
+        node.minimum = Limit.of(schemaNode.get("minimum"));
+        node.maximum = Limit.of(schemaNode.get("maximum"));
+        node.exclusiveMinimum = Limit.of(schemaNode.get("exclusiveMinimum"));
+        node.exclusiveMaximum = Limit.of(schemaNode.get("exclusiveMaximum"));
+        return node;
+    }
+
+    private static boolean isStreamable(JsonNode schemaNode, String pointer) {
+        if (!schemaNode.isObject()) {
+            return false;
+        }
+        JsonNode ref = schemaNode.get("$ref");
+        if (ref != null) {
+            // only local JSON pointers, other references are resolved by json-schema-validator
+            String target = ref.asText();
+            return ref.isTextual() && ("#".equals(target) || target.startsWith("#/")) && !target.contains("%");
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = schemaNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String keyword = field.getKey();
+            JsonNode value = field.getValue();
+            if ("$id".equals(keyword) && pointer.isEmpty() || ANNOTATIONS.contains(keyword)) {
+                continue;
+            }
+            if (!KEYWORDS.contains(keyword)) {
+                return false;
+            }
+            switch (keyword) {
+                case "items":
+                    // the tuple form is left to json-schema-validator
+                    if (value.isArray()) {
+                        return false;
+                    }
+                    break;
+                case "enum":
+                    if (!value.isArray()) {
+                        return false;
+                    }
+                    for (JsonNode enumValue : value) {
+                        if (enumValue.isContainerNode()) {
+                            return false;
+                        }
+                    }
+                    break;
+                case "const":
+                    if (value.isContainerNode()) {
+                        return false;
+                    }
+                    break;
+                case "type":
+                    if (!value.isTextual() && !value.isArray()) {
+                        return false;
+                    }
+                    break;
+                case "minimum":
+                case "maximum":
+                case "exclusiveMinimum":
+                case "exclusiveMaximum":
+                    if (!value.isNumber()) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static JsonNodePath schemaPath(String pointer) {
+        JsonNodePath path = new JsonNodePath(PathType.JSON_POINTER);
+        JsonPointer segment = JsonPointer.compile(pointer);
+        while (segment != null && !segment.matches()) {
+            path = path.append(segment.getMatchingProperty());
+            segment = segment.tail();
+        }
+        return path;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static int intValue(JsonNode schemaNode, String keyword) {
+        JsonNode value = schemaNode.get(keyword);
+        return value != null && value.canConvertToInt() ? value.intValue() : -1;
+    }
+
+    private static int typeBit(String type) {
+        switch (type) {
+            case "object":
+                return OBJECT;
+            case "array":
+                return ARRAY;
+            case "string":
+                return STRING;
+            case "number":
+                return NUMBER;
+            case "integer":
+                return INTEGER;
+            case "boolean":
+                return BOOLEAN;
+            case "null":
+                return NULL;
+            default:
+                throw new IllegalArgumentException("Unknown type " + type);
+        }
+    }
+
+    private static String typeList(JsonNode types) {
+        List<String> names = new ArrayList<>();
+        for (JsonNode type : types) {
+            names.add(type.asText());
+        }
+        return names.toString();
+    }
+
+    private static Object key(JsonNode value) {
+        if (value.isNumber()) {
+            return value.decimalValue().stripTrailingZeros();
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        if (value.isNull()) {
+            return NULL_VALUE;
+        }
+        return value.asText();
+    }
+
+    private static final class SchemaNode {
+        JsonSchema fallback;
+        SchemaNode ref;
+        boolean falseSchema;
+        int types;
+        boolean unionType;
+        String typeText;
+        Set<Object> enumValues;
+        String enumText;
+        Object constValue;
+        String constText;
+        Map<String, SchemaNode> properties;
+        String[] required;
+        boolean additionalPropertiesAllowed = true;
+        SchemaNode additionalProperties;
+        SchemaNode items;
+        int minItems;
+        int maxItems;
+        int minProperties;
+        int maxProperties;
+        int minLength;
+        int maxLength;
+        RegularExpression pattern;
+        String patternText;
+        Limit minimum;
+        Limit maximum;
+        Limit exclusiveMinimum;
+        Limit exclusiveMaximum;
+    }
+
+    private static final class Limit {
+        final BigDecimal value;
+        final String text;
+
+        private Limit(JsonNode limit) {
+            this.value = limit.decimalValue();
+            this.text = limit.asText();
+        }
+
+        static Limit of(JsonNode limit) {
+            return limit == null ? null : new Limit(limit);
+        }
+    }
+
+    /**
+     * State of a single validation, the compiled schema nodes are shared between threads.
+     */
+    private final class Execution {
+
+        private final int maxErrors;
+        private List<ValidationError> errors;
+
+        Execution(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void validate(SchemaNode node, JsonParser parser, JsonNodePath location) throws IOException {
+            while (node.ref != null) {
+                node = node.ref;
+            }
+            if (node.fallback != null) {
+                JsonNode value = JsonValidator.mapper.readTree(parser);
+                ExecutionContext executionContext = node.fallback.createExecutionContext();
+                executionContext.getExecutionConfig().setFailFast(remainingErrors() == 1);
+                Set<ValidationMessage> messages;
+                try {
+                    messages = node.fallback.validate(executionContext, value, value, location);
+                } catch (FailFastAssertionException e) {
+                    messages = e.getValidationMessages();
+                }
+                for (ValidationMessage message : messages) {
+                    add(new ValidationError(message.getMessage(), message.getCode()));
+                }
+                return;
+            }
+            if (node.falseSchema) {
+                error(ValidatorTypeCode.FALSE, location, location.toString());
+                parser.skipChildren();
+                return;
+            }
+
+            JsonToken token = parser.currentToken();
+            switch (token) {
+                case START_OBJECT:
+                    checkType(node, OBJECT, "object", location);
+                    checkContainerValue(node, location);
+                    validateObject(node, parser, location);
+                    break;
+                case START_ARRAY:
+                    checkType(node, ARRAY, "array", location);
+                    checkContainerValue(node, location);
+                    validateArray(node, parser, location);
+                    break;
+                case VALUE_STRING:
+                    validateString(node, parser.getText(), location);
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    validateNumber(node, parser, location);
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    checkType(node, BOOLEAN, "boolean", location);
+                    checkValue(node, token == JsonToken.VALUE_TRUE, location);
+                    break;
+                case VALUE_NULL:
+                    checkType(node, NULL, "null", location);
+                    checkValue(node, NULL_VALUE, location);
+                    break;
+                default:
+                    throw new IOException("Unexpected token " + token);
+            }
+        }
+
+        private void validateObject(SchemaNode node, JsonParser parser, JsonNodePath location) throws IOException {
+            boolean[] found = node.required == null ? null : new boolean[node.required.length];
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                count++;
+                if (found != null) {
+                    for (int i = 0; i < found.length; i++) {
+                        if (node.required[i].equals(name)) {
+                            found[i] = true;
+                        }
+                    }
+                }
+                SchemaNode property = node.properties == null ? null : node.properties.get(name);
+                if (property != null) {
+                    validate(property, parser, location.append(name));
+                } else if (node.additionalProperties != null) {
+                    validate(node.additionalProperties, parser, location.append(name));
+                } else {
+                    if (!node.additionalPropertiesAllowed) {
+                        error(ValidatorTypeCode.ADDITIONAL_PROPERTIES, location, name);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (found != null) {
+                for (int i = 0; i < found.length; i++) {
+                    if (!found[i]) {
+                        error(ValidatorTypeCode.REQUIRED, location, node.required[i]);
+                    }
+                }
+            }
+            if (node.minProperties >= 0 && count < node.minProperties) {
+                error(ValidatorTypeCode.MIN_PROPERTIES, location, node.minProperties);
+            }
+            if (node.maxProperties >= 0 && count > node.maxProperties) {
+                error(ValidatorTypeCode.MAX_PROPERTIES, location, node.maxProperties);
+            }
+        }
+
+        private void validateArray(SchemaNode node, JsonParser parser, JsonNodePath location) throws IOException {
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (node.items != null) {
+                    validate(node.items, parser, location.append(count));
+                } else {
+                    parser.skipChildren();
+                }
+                count++;
+            }
+            if (node.minItems >= 0 && count < node.minItems) {
+                error(ValidatorTypeCode.MIN_ITEMS, location, node.minItems, count);
+            }
+            if (node.maxItems >= 0 && count > node.maxItems) {
+                error(ValidatorTypeCode.MAX_ITEMS, location, node.maxItems, count);
+            }
+        }
+
+        private void validateString(SchemaNode node, String value, JsonNodePath location) {
+            checkType(node, STRING, "string", location);
+            if (node.minLength >= 0 || node.maxLength >= 0) {
+                int length = value.codePointCount(0, value.length());
+                if (node.maxLength >= 0 && length > node.maxLength) {
+                    error(ValidatorTypeCode.MAX_LENGTH, location, node.maxLength);
+                }
+                if (node.minLength >= 0 && length < node.minLength) {
+                    error(ValidatorTypeCode.MIN_LENGTH, location, node.minLength);
+                }
+            }
+            if (node.pattern != null && !node.pattern.matches(value)) {
+                error(ValidatorTypeCode.PATTERN, location, node.patternText);
+            }
+            checkValue(node, value, location);
+        }
+
+        private void validateNumber(SchemaNode node, JsonParser parser, JsonNodePath location) throws IOException {
+            BigDecimal value = parser.getDecimalValue();
+            boolean integral = parser.currentToken() == JsonToken.VALUE_NUMBER_INT;
+            if (node.types != 0 && (node.types & (integral ? INTEGER | NUMBER : NUMBER)) == 0) {
+                // a number with a zero fraction is an integer for draft 6 and later
+                if (integral || (node.types & INTEGER) == 0 || value.stripTrailingZeros().scale() > 0) {
+                    typeError(node, integral ? "integer" : "number", location);
+                }
+            }
+            if (node.maximum != null && value.compareTo(node.maximum.value) > 0) {
+                error(ValidatorTypeCode.MAXIMUM, location, node.maximum.text);
+            }
+            if (node.exclusiveMaximum != null && value.compareTo(node.exclusiveMaximum.value) >= 0) {
+                error(ValidatorTypeCode.EXCLUSIVE_MAXIMUM, location, node.exclusiveMaximum.text);
+            }
+            if (node.minimum != null && value.compareTo(node.minimum.value) < 0) {
+                error(ValidatorTypeCode.MINIMUM, location, node.minimum.text);
+            }
+            if (node.exclusiveMinimum != null && value.compareTo(node.exclusiveMinimum.value) <= 0) {
+                error(ValidatorTypeCode.EXCLUSIVE_MINIMUM, location, node.exclusiveMinimum.text);
+            }
+            if (node.enumValues != null || node.constValue != null) {
+                checkValue(node, value.stripTrailingZeros(), location);
+            }
+        }
+
+        private void checkType(SchemaNode node, int type, String typeName, JsonNodePath location) {
+            if (node.types != 0 && (node.types & type) == 0) {
+                typeError(node, typeName, location);
+            }
+        }
+
+        private void typeError(SchemaNode node, String typeName, JsonNodePath location) {
+            error(node.unionType ? ValidatorTypeCode.UNION_TYPE : ValidatorTypeCode.TYPE, location, typeName,
+                    node.typeText);
+        }
+
+        private void checkValue(SchemaNode node, Object value, JsonNodePath location) {
+            if (node.enumValues != null && !node.enumValues.contains(value)) {
+                error(ValidatorTypeCode.ENUM, location, node.enumText);
+            }
+            if (node.constValue != null && !node.constValue.equals(value)) {
+                error(ValidatorTypeCode.CONST, location, node.constText);
+            }
+        }
+
+        private void checkContainerValue(SchemaNode node, JsonNodePath location) {
+            // enum and const only hold scalar values in streamed subschemas
+            checkValue(node, null, location);
+        }
+
+        private void error(ValidatorTypeCode code, JsonNodePath location, Object... arguments) {
+            Object[] messageArguments = new Object[arguments.length + 1];
+            messageArguments[0] = location.toString();
+            System.arraycopy(arguments, 0, messageArguments, 1, arguments.length);
+            add(new ValidationError(messageSource.getMessage(code.getValue(), locale, messageArguments),
+                    code.getErrorCode()));
+        }
+
+        private int remainingErrors() {
+            if (maxErrors <= 0) {
+                return Integer.MAX_VALUE;
+            }
+            return maxErrors - (errors == null ? 0 : errors.size());
+        }
+
+        private void add(ValidationError error) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(error);
+            ErrorLimitReached.check(errors.size(), maxErrors);
+        }
+    }
+}
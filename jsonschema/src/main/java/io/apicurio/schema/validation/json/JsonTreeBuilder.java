@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the {@link JsonNode} tree of a Java object directly, instead of serializing it into a token buffer and reading
+ * the tokens back as {@link ObjectMapper#convertValue(Object, Class)} does.
+ * Each bean class is introspected once: when Jackson serializes it with a plain {@link BeanSerializer}, its property
+ * writers are reused to read the property values. Classes with custom serialization (custom serializers, JsonValue,
+ * filters, any getters, type ids, views or non default inclusion) and non standard values are converted by the mapper,
+ * so the tree is always the one Jackson would produce.
+ */
+final class JsonTreeBuilder {
+
+    private static final int MAX_DEPTH = 500;
+
+    private static final BeanWriter[] FALLBACK = new BeanWriter[0];
+
+    private final ObjectMapper mapper;
+    private final JsonNodeFactory nodeFactory;
+    private final ClassValue<BeanWriter[]> beanWriters = new ClassValue<>() {
+        @Override
+        protected BeanWriter[] computeValue(Class<?> type) {
+            return introspect(type);
+        }
+    };
+
+    JsonTreeBuilder(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.nodeFactory = mapper.getNodeFactory();
+    }
+
+    JsonNode toTree(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof JsonNode) {
+            return (JsonNode) value;
+        }
+        return toNode(value, 0);
+    }
+
+    private JsonNode toNode(Object value, int depth) {
+        if (value == null) {
+            return nodeFactory.nullNode();
+        }
+        if (value instanceof String) {
+            return nodeFactory.textNode((String) value);
+        }
+        if (value instanceof Boolean) {
+            return nodeFactory.booleanNode((Boolean) value);
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return nodeFactory.numberNode(((Number) value).intValue());
+        }
+        if (value instanceof Long) {
+            return nodeFactory.numberNode((Long) value);
+        }
+        if (value instanceof Double) {
+            return nodeFactory.numberNode((Double) value);
+        }
+        if (value instanceof Float) {
+            return nodeFactory.numberNode((Float) value);
+        }
+        if (value instanceof BigDecimal) {
+            return nodeFactory.numberNode((BigDecimal) value);
+        }
+        if (value instanceof BigInteger) {
+            return nodeFactory.numberNode((BigInteger) value);
+        }
+        if (depth > MAX_DEPTH) {
+            // let the mapper report the cycle
+            return mapper.valueToTree(value);
+        }
+        if (value instanceof JsonNode) {
+            return (JsonNode) value;
+        }
+        if (value instanceof Collection && isPlainContainer(value.getClass())) {
+            ArrayNode array = nodeFactory.arrayNode(((Collection<?>) value).size());
+            for (Object item : (Collection<?>) value) {
+                array.add(toNode(item, depth + 1));
+            }
+            return array;
+        }
+        if (value instanceof Map && isPlainContainer(value.getClass()) && hasStringKeys((Map<?, ?>) value)) {
+            ObjectNode object = nodeFactory.objectNode();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                object.set((String) entry.getKey(), toNode(entry.getValue(), depth + 1));
+            }
+            return object;
+        }
+        if (value instanceof Object[]) {
+            Object[] items = (Object[]) value;
+            ArrayNode array = nodeFactory.arrayNode(items.length);
+            for (Object item : items) {
+                array.add(toNode(item, depth + 1));
+            }
+            return array;
+        }
+
+        BeanWriter[] writers = beanWriters.get(value.getClass());
+        if (writers == FALLBACK) {
+            return mapper.valueToTree(value);
+        }
+        ObjectNode object = nodeFactory.objectNode();
+        for (BeanWriter writer : writers) {
+            object.set(writer.name, toNode(writer.get(value), depth + 1));
+        }
+        return object;
+    }
+
+    private static boolean isPlainContainer(Class<?> type) {
+        return type.getName().startsWith("java.util.");
+    }
+
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BeanWriter[] introspect(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.getName().startsWith("java.")) {
+            return FALLBACK;
+        }
+        try {
+            SerializationConfig config = mapper.getSerializationConfig();
+            SerializerProvider provider = mapper.getSerializerProviderInstance();
+            JavaType javaType = mapper.constructType(type);
+            JsonSerializer<Object> serializer = provider.findValueSerializer(javaType);
+            if (serializer.getClass() != BeanSerializer.class || serializer.usesObjectId()
+                    || provider.findTypeSerializer(javaType) != null) {
+                return FALLBACK;
+            }
+            BeanDescription description = config.introspect(javaType);
+            if (description.findAnyGetter() != null
+                    || config.getAnnotationIntrospector().findFilterId(description.getClassInfo()) != null) {
+                return FALLBACK;
+            }
+
+            List<BeanWriter> writers = new ArrayList<>();
+            Iterator<PropertyWriter> properties = serializer.properties();
+            while (properties.hasNext()) {
+                PropertyWriter property = properties.next();
+                if (property.getClass() != BeanPropertyWriter.class) {
+                    return FALLBACK;
+                }
+                BeanPropertyWriter writer = (BeanPropertyWriter) property;
+                if (!isPlainProperty(writer, config, type)) {
+                    return FALLBACK;
+                }
+                writers.add(new BeanWriter(writer));
+            }
+            return writers.toArray(new BeanWriter[0]);
+        } catch (Exception e) {
+            return FALLBACK;
+        }
+    }
+
+    private static boolean isPlainProperty(BeanPropertyWriter writer, SerializationConfig config, Class<?> type) {
+        if (writer.getTypeSerializer() != null || writer.getViews() != null || writer.willSuppressNulls()
+                || writer.getAnnotation(JsonSerialize.class) != null || writer.getAnnotation(JsonFormat.class) != null
+                || writer.getAnnotation(JsonRawValue.class) != null) {
+            return false;
+        }
+        JsonInclude.Value inclusion = writer.findPropertyInclusion(config, type);
+        return isDefaultInclusion(inclusion.getValueInclusion()) && isDefaultInclusion(inclusion.getContentInclusion());
+    }
+
+    private static boolean isDefaultInclusion(JsonInclude.Include include) {
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private static final class BeanWriter {
+        final String name;
+        final BeanPropertyWriter writer;
+
+        BeanWriter(BeanPropertyWriter writer) {
+            this.name = writer.getName();
+            this.writer = writer;
+        }
+
+        Object get(Object bean) {
+            try {
+                return writer.get(bean);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to read property " + name + " of "
+                        + bean.getClass().getName(), e);
+            }
+        }
+    }
+}
@@ -22,10 +22,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
+import com.networknt.schema.SpecVersionDetector;
 import com.networknt.schema.ValidationMessage;
 import io.apicurio.registry.resolver.DefaultSchemaResolver;
 import io.apicurio.registry.resolver.ParsedSchema;
-import io.apicurio.registry.resolver.SchemaLookupResult;
 import io.apicurio.registry.resolver.SchemaParser;
 import io.apicurio.registry.resolver.SchemaResolver;
 import io.apicurio.registry.resolver.config.SchemaResolverConfig;
@@ -38,14 +38,29 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -58,8 +73,21 @@ public class JsonValidator {
 
     private SchemaResolver<JsonSchema, Object> schemaResolver;
     private ArtifactReference artifactReference;
+    private final boolean streaming;
+    private final int maxErrors;
+    private final SchemaLookup<JsonSchema, JsonValidationResult> schemaLookup;
+    private final Path snapshotDir;
+    private final AtomicReference<List<ArtifactReference>> snapshotRefresh = new AtomicReference<>();
+    private final BoundedCache<JsonSchema, JsonStreamingValidator> streamingPlans;
+    private final int linesParallelism;
+    private final int linesChunkSize;
 
     static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonTreeBuilder treeBuilder = new JsonTreeBuilder(mapper);
+
+    // resolutions mostly wait for the registry, each one gets its own virtual thread
+    private static final Executor RESOLUTION_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("apicurio-json-schema-resolution-", 0).factory());
 
     /**
      * Creates the JSON validator.
@@ -69,13 +97,28 @@ public class JsonValidator {
      * @param artifactReference , optional {@link ArtifactReference} used as a static configuration to always use the same schema for validation when invoking {@link JsonValidator#validateByArtifactReference(Object)}
      */
     public JsonValidator(Map<String, Object> configuration, Optional<ArtifactReference> artifactReference) {
+        this(new JsonValidatorConfig(configuration));
         this.schemaResolver = new DefaultSchemaResolver<>();
-        this.schemaResolver.configure(configuration, new JsonSchemaParser());
+        JsonSchemaParser parser = new JsonSchemaParser();
+        this.schemaResolver.configure(configuration, parser);
         artifactReference.ifPresent(reference -> this.artifactReference = reference);
+        loadSnapshot(parser);
     }
 
     protected JsonValidator() {
         //for tests
+        this(new JsonValidatorConfig(Map.of()));
+    }
+
+    protected JsonValidator(JsonValidatorConfig config) {
+        this.streaming = config.isStreaming();
+        this.maxErrors = config.getMaxErrors();
+        this.schemaLookup = new SchemaLookup<>(config.getSchemaCacheSize(), config.getSchemaCacheTtlMs(),
+                config.getNegativeCacheSize(), config.getNegativeCacheTtlMs());
+        this.snapshotDir = config.getSnapshotDir();
+        this.streamingPlans = new BoundedCache<>(config.getStreamingPlanCacheSize());
+        this.linesParallelism = config.getLinesParallelism();
+        this.linesChunkSize = config.getLinesChunkSize();
     }
 
     /**
@@ -87,17 +130,58 @@ public class JsonValidator {
      */
     public JsonValidationResult validateByArtifactReference(Object bean) {
         Objects.requireNonNull(this.artifactReference, "ArtifactReference must be provided when creating JsonValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        JsonValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        JsonSchema schema;
         try {
-            SchemaLookupResult<JsonSchema> schema = this.schemaResolver.resolveSchemaByArtifactReference(this.artifactReference);
-            JsonNode jsonPayload = createJSONObject(bean);
-            return validate(schema.getParsedSchema().getParsedSchema(), jsonPayload);
+            schema = lookupArtifactSchema(key);
         } catch (Exception e) {
-            return JsonValidationResult.fromErrors(List.of(
-                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
-            ));
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validatePayload(schema, bean);
+        } catch (Exception e) {
+            return resolutionError(e);
         }
     }
 
+    /**
+     * Validates every line of a newline delimited JSON (JSON Lines) file against a JSON Schema.
+     * The JSON Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     * The file is memory mapped and validated in parallel, see {@link JsonValidatorConfig#LINES_PARALLELISM} and {@link JsonValidatorConfig#LINES_CHUNK_SIZE}.
+     * Blank lines are skipped. If the schema cannot be resolved a single result with line number 0 is reported.
+     *
+     * @param file    , the JSON Lines file to validate
+     * @param results , receives the result of each line, in line order and on the calling thread
+     * @throws IOException if the file cannot be read
+     */
+    public void validateLinesByArtifactReference(Path file, Consumer<JsonLineValidationResult> results) throws IOException {
+        Objects.requireNonNull(this.artifactReference, "ArtifactReference must be provided when creating JsonValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        JsonValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            results.accept(new JsonLineValidationResult(0, failure));
+            return;
+        }
+        JsonSchema schema;
+        try {
+            schema = lookupArtifactSchema(key);
+        } catch (Exception e) {
+            results.accept(new JsonLineValidationResult(0, schemaLookup.fail(key, e, this::resolutionError)));
+            return;
+        }
+        validateLines(schema, file, results);
+    }
+
+    protected void validateLines(JsonSchema schema, Path file, Consumer<JsonLineValidationResult> results) throws IOException {
+        JsonLinesValidator.validate(this, schema, file, linesParallelism, linesChunkSize, results);
+    }
+
     /**
      * Validates the payload of the provided Record against a JSON Schema.
      * This method will resolve the schema based on the configuration provided in the constructor. See {@link SchemaResolverConfig} for configuration options and features of {@link SchemaResolver}.
@@ -108,19 +192,232 @@ public class JsonValidator {
      * @return JsonValidationResult
      */
     public JsonValidationResult validate(Record<Object> record) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        JsonValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            // failed recently, the schema resolver is not asked again until the failure expires
+            return failure;
+        }
+        JsonSchema schema;
+        try {
+            schema = lookupSchema(key, record);
+        } catch (Exception e) {
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validatePayload(schema, record.payload());
+        } catch (Exception e) {
+            return resolutionError(e);
+        }
+    }
+
+    /**
+     * Validates the payloads of the provided records, resolving each schema once per batch.
+     * Records are grouped by the {@link ArtifactReference} of their metadata, the schema of each group is resolved with the first record of the group
+     * and then used to validate all the records of the group. Records without an artifact reference are resolved one by one, like in {@link #validate(Record)}.
+     *
+     * @param records , the records used to resolve the schemas used for validation and to provide the payloads to validate.
+     * @return the validation results, in the same order as the provided records
+     */
+    public List<JsonValidationResult> validateAll(Collection<? extends Record<Object>> records) {
+        refreshSnapshot();
+        JsonValidationResult[] results = new JsonValidationResult[records.size()];
+        Map<ArtifactKey, List<Map.Entry<Integer, Record<Object>>>> groups = new LinkedHashMap<>();
+        int index = 0;
+        for (Record<Object> record : records) {
+            ArtifactKey key = ArtifactKey.of(record);
+            if (key == null) {
+                results[index] = validate(record);
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(Map.entry(index, record));
+            }
+            index++;
+        }
+
+        for (Map.Entry<ArtifactKey, List<Map.Entry<Integer, Record<Object>>>> entry : groups.entrySet()) {
+            List<Map.Entry<Integer, Record<Object>>> group = entry.getValue();
+            JsonValidationResult failure = schemaLookup.failure(entry.getKey());
+            JsonSchema schema = null;
+            if (failure == null) {
+                try {
+                    schema = lookupSchema(entry.getKey(), group.get(0).getValue());
+                } catch (Exception e) {
+                    failure = schemaLookup.fail(entry.getKey(), e, this::resolutionError);
+                }
+            }
+            if (failure != null) {
+                JsonValidationResult groupFailure = failure;
+                group.forEach(indexed -> results[indexed.getKey()] = groupFailure);
+                continue;
+            }
+            for (Map.Entry<Integer, Record<Object>> indexed : group) {
+                try {
+                    results[indexed.getKey()] = validatePayload(schema, indexed.getValue().payload());
+                } catch (Exception e) {
+                    results[indexed.getKey()] = resolutionError(e);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * See {@link #validateAsync(Record, Executor)}, schemas that are not cached are resolved on virtual threads.
+     *
+     * @param record , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @return the JsonValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<JsonValidationResult> validateAsync(Record<Object> record) {
+        return validateAsync(record, RESOLUTION_EXECUTOR);
+    }
+
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * When the schema of the record artifact has been resolved recently, see {@link JsonValidatorConfig#SCHEMA_CACHE_TTL_MS}, the record is validated
+     * on the calling thread and the returned stage is already complete. Otherwise the schema is resolved and the record validated on the provided executor.
+     *
+     * @param record   , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @param executor , the executor resolving the schema when it is not cached.
+     * @return the JsonValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<JsonValidationResult> validateAsync(Record<Object> record, Executor executor) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        JsonValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return CompletableFuture.completedFuture(failure);
+        }
+        JsonSchema schema = schemaLookup.cached(key);
+        if (schema == null) {
+            return CompletableFuture.supplyAsync(() -> validate(record), executor);
+        }
+        // resolved recently, the record is validated on the calling thread
+        try {
+            return CompletableFuture.completedFuture(validatePayload(schema, record.payload()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(resolutionError(e));
+        }
+    }
+
+    /**
+     * Resolves and compiles the schemas of the provided artifacts in parallel, so that the first records of these artifacts do not wait for the registry.
+     * The resolved schemas are used by {@link #validate(Record)}, {@link #validateAll(Collection)} and {@link #validateAsync(Record)} for records carrying the same
+     * {@link ArtifactReference} until the artifact is warmed up again, whatever the {@link JsonValidatorConfig#SCHEMA_CACHE_TTL_MS}, so they remain available while the registry cannot be reached. When {@link JsonValidatorConfig#SNAPSHOT_DIR} is set the raw schemas are also stored there, to be loaded by the next validator instances.
+     *
+     * @param references , the artifacts to resolve.
+     * @return the JsonValidationResult of the resolution of each artifact, in the same order as the provided references
+     */
+    public List<JsonValidationResult> warmUp(Collection<ArtifactReference> references) {
+        refreshSnapshot();
+        List<CompletableFuture<JsonValidationResult>> warmUps = new ArrayList<>(references.size());
+        for (ArtifactReference reference : references) {
+            warmUps.add(CompletableFuture.supplyAsync(() -> warmUp(reference), RESOLUTION_EXECUTOR));
+        }
+        List<JsonValidationResult> results = new ArrayList<>(warmUps.size());
+        for (CompletableFuture<JsonValidationResult> warmUp : warmUps) {
+            results.add(warmUp.join());
+        }
+        return results;
+    }
+
+    /**
+     * Loads the schemas stored in the {@link JsonValidatorConfig#SNAPSHOT_DIR}.
+     * The schemas are refreshed from the registry in the background once the validator is first used, not while it is being created.
+     */
+    final void loadSnapshot(SchemaParser<JsonSchema, Object> parser) {
+        if (snapshotDir == null) {
+            return;
+        }
+        Map<ArtifactKey, ParsedSchema<JsonSchema>> snapshot = SchemaSnapshot.read(snapshotDir, parser);
+        List<ArtifactReference> references = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, schema) -> {
+            compile(schema.getParsedSchema());
+            schemaLookup.pin(key, schema.getParsedSchema());
+            references.add(key.toReference());
+        });
+        if (!references.isEmpty()) {
+            snapshotRefresh.set(references);
+        }
+    }
+
+    private void refreshSnapshot() {
+        if (snapshotRefresh.get() != null) {
+            List<ArtifactReference> references = snapshotRefresh.getAndSet(null);
+            if (references != null) {
+                CompletableFuture.runAsync(() -> warmUp(references), RESOLUTION_EXECUTOR);
+            }
+        }
+    }
+
+    /**
+     * Resolves the schema used to validate the provided record.
+     */
+    protected JsonSchema resolveSchema(Record<Object> record) {
+        return this.schemaResolver.resolveSchema(record).getParsedSchema().getParsedSchema();
+    }
+
+    /**
+     * Resolves the schema of the provided artifact, with its raw content and references.
+     */
+    protected ParsedSchema<JsonSchema> resolveSchema(ArtifactReference reference) {
+        return this.schemaResolver.resolveSchemaByArtifactReference(reference).getParsedSchema();
+    }
+
+    private JsonValidationResult resolutionError(Exception e) {
+        return JsonValidationResult.fromErrors(List.of(
+            new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
+        ));
+    }
+
+    private JsonSchema lookupSchema(ArtifactKey key, Record<Object> record) {
+        return schemaLookup.resolve(key, () -> resolveSchema(record));
+    }
+
+    /**
+     * Resolves the schema of the {@link ArtifactReference} provided in the constructor, sharing the caches of the records of the same artifact.
+     */
+    private JsonSchema lookupArtifactSchema(ArtifactKey key) {
+        return schemaLookup.resolve(key, () -> resolveSchema(this.artifactReference).getParsedSchema());
+    }
+
+    private JsonValidationResult warmUp(ArtifactReference reference) {
+        ParsedSchema<JsonSchema> schema;
         try {
-            SchemaLookupResult<JsonSchema> schema = this.schemaResolver.resolveSchema(record);
-            JsonNode jsonPayload = createJSONObject(record.payload());
-            return validate(schema.getParsedSchema().getParsedSchema(), jsonPayload);
+            schema = resolveSchema(reference);
+            compile(schema.getParsedSchema());
         } catch (Exception e) {
             return JsonValidationResult.fromErrors(List.of(
                 new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
             ));
         }
+        ArtifactKey key = ArtifactKey.of(reference);
+        schemaLookup.pin(key, schema.getParsedSchema());
+        if (snapshotDir != null) {
+            try {
+                SchemaSnapshot.write(snapshotDir, key, schema);
+            } catch (IOException e) {
+                return JsonValidationResult.fromErrors(List.of(
+                    new ValidationError("Failed to write schema snapshot: " + e.getMessage(), "SCHEMA_SNAPSHOT_ERROR")
+                ));
+            }
+        }
+        return JsonValidationResult.SUCCESS;
+    }
+
+    private void compile(JsonSchema schema) {
+        schema.initializeValidators();
+        if (streaming) {
+            streamingPlans.computeIfAbsent(schema, JsonStreamingValidator::compile);
+        }
     }
 
     protected JsonValidationResult validate(JsonSchema schema, JsonNode jsonPayload) {
-        Set<ValidationMessage> validate = schema.validate(jsonPayload);
+        // json-schema-validator can only stop at the first error, other limits truncate the reported errors
+        Set<ValidationMessage> validate = maxErrors == 1
+                ? schema.validate(jsonPayload, executionContext -> executionContext.getExecutionConfig().setFailFast(true))
+                : schema.validate(jsonPayload);
 
         if (!validate.isEmpty()) {
             return JsonValidationResult.fromErrors(extractValidationErrors(validate));
@@ -129,18 +426,74 @@ public class JsonValidator {
         return JsonValidationResult.SUCCESS;
     }
 
-    private JsonNode createJSONObject(Object bean) {
+    /**
+     * Validates a serialized JSON document while it is being parsed, no tree of the whole document is built.
+     * See {@link JsonValidatorConfig#STREAMING}.
+     */
+    protected JsonValidationResult validateStreaming(JsonSchema schema, JsonParser parser) {
+        try {
+            List<ValidationError> errors = streamingPlans.computeIfAbsent(schema, JsonStreamingValidator::compile)
+                    .validate(parser, maxErrors);
+            if (errors != null) {
+                return JsonValidationResult.fromErrors(errors);
+            }
+            return JsonValidationResult.SUCCESS;
+        } catch (IOException e) {
+            return malformedPayload(e);
+        }
+    }
+
+    private static JsonValidationResult malformedPayload(IOException e) {
+        return JsonValidationResult.fromErrors(List.of(
+            new ValidationError("Malformed JSON payload: " + e.getMessage(), "MALFORMED_PAYLOAD")
+        ));
+    }
+
+    private JsonValidationResult validatePayload(JsonSchema schema, Object bean) throws IOException {
+        // byte[] payloads are binary values, not serialized documents, in both modes
+        if (streaming && (bean instanceof ByteBuffer || bean instanceof InputStream)) {
+            try (JsonParser parser = createParser(bean)) {
+                return validateStreaming(schema, parser);
+            }
+        }
+        return validate(schema, createJSONObject(bean));
+    }
+
+    /**
+     * Validates one line of a JSON Lines file, a line that cannot be parsed is reported as a validation error.
+     */
+    JsonValidationResult validateLine(JsonSchema schema, ByteBuffer line) {
+        try {
+            return validatePayload(schema, line);
+        } catch (IOException e) {
+            return malformedPayload(e);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                return malformedPayload((IOException) e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    private JsonParser createParser(Object bean) throws IOException {
         if (bean instanceof ByteBuffer) {
-            try (InputStream inputStream = new ByteBufferInputStream((ByteBuffer) bean);
-                    JsonParser parser = mapper.getFactory().createParser(inputStream)) {
-                return parser.readValueAs(JsonNode.class);
+            return ByteBufferJsonParser.create(mapper.getFactory(), (ByteBuffer) bean);
+        }
+        // the stream belongs to the caller
+        return mapper.getFactory().createParser((InputStream) bean).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    private JsonNode createJSONObject(Object bean) {
+        if (bean instanceof ByteBuffer || bean instanceof InputStream) {
+            try (JsonParser parser = createParser(bean)) {
+                return mapper.readTree(parser);
             }
             catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
         else {
-            return mapper.convertValue(bean, JsonNode.class);
+            return treeBuilder.toTree(bean);
         }
     }
 
@@ -148,6 +501,9 @@ public class JsonValidator {
         List<ValidationError> errors = new ArrayList<>();
         if (validationErrors != null && !validationErrors.isEmpty()) {
             for (ValidationMessage cause : validationErrors) {
+                if (maxErrors > 0 && errors.size() == maxErrors) {
+                    break;
+                }
                 ValidationError error = new ValidationError(cause.getMessage(), cause.getCode());
                 errors.add(error);
             }
@@ -191,6 +547,20 @@ public class JsonValidator {
     }
 
     public static class JsonSchemaParser implements SchemaParser<JsonSchema, Object> {
+
+        private static final int SCHEMA_CACHE_SIZE = 1000;
+        private static final int FACTORY_CACHE_SIZE = 100;
+
+        /**
+         * Compiled schemas shared by all the parsers of the process, keyed by the content hash of the schema and of its references.
+         */
+        private static final BoundedCache<String, JsonSchema> schemas = new BoundedCache<>(SCHEMA_CACHE_SIZE);
+
+        /**
+         * One factory per spec version and reference set, so reference documents are loaded once per factory.
+         */
+        private static final BoundedCache<String, JsonSchemaFactory> factories = new BoundedCache<>(FACTORY_CACHE_SIZE);
+
         @Override
         public String artifactType() {
             return ArtifactType.JSON;
@@ -198,18 +568,39 @@ public class JsonValidator {
 
         @Override
         public JsonSchema parseSchema(byte[] rawSchema, Map<String, ParsedSchema<JsonSchema>> resolvedReferences) {
-            Map<String, String> referenceSchemas = new HashMap<>();
+            Map<String, byte[]> referenceSchemas = new TreeMap<>();
 
             resolveReferences(resolvedReferences, referenceSchemas);
 
-            JsonSchemaFactory schemaFactory = JsonSchemaFactory
-                    .getInstance(SpecVersion.VersionFlag.V7,
-                            builder -> builder.schemaLoaders(schemaLoaders -> schemaLoaders.schemas(referenceSchemas)));
+            StringBuilder referencesKey = new StringBuilder();
+            referenceSchemas.forEach((id, content) -> referencesKey.append(id).append('=').append(sha256(content)).append(';'));
 
-            return schemaFactory.getSchema(IoUtil.toString(rawSchema));
+            return schemas.computeIfAbsent(sha256(rawSchema) + "|" + referencesKey,
+                    key -> compileSchema(rawSchema, referenceSchemas, referencesKey.toString()));
         }
 
-        private void resolveReferences(Map<String, ParsedSchema<JsonSchema>> resolvedReferences, Map<String, String> referenceSchemas) {
+        private static JsonSchema compileSchema(byte[] rawSchema, Map<String, byte[]> referenceSchemas, String referencesKey) {
+            JsonNode schemaNode;
+            try {
+                schemaNode = mapper.readTree(rawSchema);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // schemas without $schema keep being handled as draft 7
+            SpecVersion.VersionFlag version = SpecVersionDetector.detectOptionalVersion(schemaNode, false)
+                    .orElse(SpecVersion.VersionFlag.V7);
+
+            JsonSchemaFactory schemaFactory = factories.computeIfAbsent(version + "|" + referencesKey, key -> {
+                Map<String, String> schemaContents = new HashMap<>();
+                referenceSchemas.forEach((id, content) -> schemaContents.put(id, IoUtil.toString(content)));
+                return JsonSchemaFactory.getInstance(version,
+                        builder -> builder.schemaLoaders(schemaLoaders -> schemaLoaders.schemas(schemaContents)));
+            });
+
+            return schemaFactory.getSchema(schemaNode);
+        }
+
+        private void resolveReferences(Map<String, ParsedSchema<JsonSchema>> resolvedReferences, Map<String, byte[]> referenceSchemas) {
             resolvedReferences.forEach((referenceName, schema) -> {
                 if (schema.hasReferences()) {
                     resolveReferences(schema.getSchemaReferences()
@@ -217,10 +608,18 @@ public class JsonValidator {
                             .collect(Collectors.toMap(parsedSchema -> parsedSchema.getParsedSchema().getId(), parsedSchema -> parsedSchema)), referenceSchemas);
 
                 }
-                referenceSchemas.put(schema.getParsedSchema().getId(), IoUtil.toString(schema.getRawSchema()));
+                referenceSchemas.put(schema.getParsedSchema().getId(), schema.getRawSchema());
             });
         }
 
+        private static String sha256(byte[] content) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
         @Override
         public ParsedSchema<JsonSchema> getSchemaFromData(Record<Object> data) {
             //not supported yet?
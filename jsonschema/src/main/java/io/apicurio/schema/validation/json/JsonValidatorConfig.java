@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.json;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Configuration properties for {@link JsonValidator}.
+ * These properties are read from the same configuration map that is used to configure the schema resolver.
+ */
+public class JsonValidatorConfig {
+
+    /**
+     * Enables streaming validation of {@link java.nio.ByteBuffer} and {@link java.io.InputStream} payloads, which hold a
+     * serialized JSON document. A byte[] payload is a binary value, not a document, whether streaming is enabled or not.
+     * Schema keywords are checked directly from the parser tokens, only the values of subschemas using keywords that
+     * need the whole value (e.g. {@code oneOf}, {@code uniqueItems}) are buffered into a tree.
+     */
+    public static final String STREAMING = "apicurio.validation.json.streaming";
+    public static final boolean STREAMING_DEFAULT = false;
+
+    /**
+     * Maximum number of compiled streaming validation plans, one per JSON schema, kept in memory.
+     * A value of 0 disables the cache.
+     */
+    public static final String STREAMING_PLAN_CACHE_SIZE = "apicurio.validation.json.streaming-plan-cache-size";
+    public static final int STREAMING_PLAN_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Time in milliseconds a schema resolved for an artifact is used without asking the schema resolver again.
+     * Asynchronous validations of records whose schema is cached complete without switching threads. Defaults to 5
+     * seconds, a value of 0 disables the cache and every asynchronous validation then resolves its schema on another thread.
+     * This cache sits in front of the schema resolver cache: a record referencing the latest version of an artifact may
+     * be validated with the previous version for up to the resolver refresh period, {@code apicurio.registry.check-period-ms},
+     * plus this time. Lower it, or set it to 0, when a new version must be picked up as soon as the resolver sees it. The schemas of {@link #SNAPSHOT_DIR} and of the warm-up do not depend on this setting, they are kept
+     * until the artifact is warmed up again.
+     */
+    public static final String SCHEMA_CACHE_TTL_MS = "apicurio.validation.json.schema-cache-ttl-ms";
+    public static final long SCHEMA_CACHE_TTL_MS_DEFAULT = 5000;
+
+    /**
+     * Maximum number of artifacts whose resolved schema is kept in memory, see {@link #SCHEMA_CACHE_TTL_MS}.
+     */
+    public static final String SCHEMA_CACHE_SIZE = "apicurio.validation.json.schema-cache-size";
+    public static final int SCHEMA_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Time in milliseconds a failed schema resolution is reported for the artifact without asking the schema resolver
+     * again, so that records of a missing artifact do not turn into a flood of registry requests. A value of 0 disables
+     * the cache of failures.
+     */
+    public static final String NEGATIVE_CACHE_TTL_MS = "apicurio.validation.json.negative-cache-ttl-ms";
+    public static final long NEGATIVE_CACHE_TTL_MS_DEFAULT = 5000;
+
+    /**
+     * Maximum number of artifacts whose failed resolution is kept in memory, see {@link #NEGATIVE_CACHE_TTL_MS}.
+     */
+    public static final String NEGATIVE_CACHE_SIZE = "apicurio.validation.json.negative-cache-size";
+    public static final int NEGATIVE_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Directory keeping a local copy of the schemas resolved by {@link JsonValidator#warmUp(java.util.Collection)}.
+     * The schemas of the directory are loaded when the validator is created, before the registry is contacted, and are
+     * refreshed from the registry in the background. Not set by default.
+     */
+    public static final String SNAPSHOT_DIR = "apicurio.validation.json.snapshot-dir";
+
+    /**
+     * Maximum number of errors reported by a validation, the validation stops as soon as it is reached.
+     * A value of 0 reports every error.
+     */
+    public static final String MAX_ERRORS = "apicurio.validation.json.max-errors";
+    public static final int MAX_ERRORS_DEFAULT = 0;
+
+    /**
+     * Stops the validation at the first error, same as setting {@link #MAX_ERRORS} to 1.
+     */
+    public static final String FAIL_FAST = "apicurio.validation.json.fail-fast";
+    public static final boolean FAIL_FAST_DEFAULT = false;
+
+    /**
+     * Number of threads validating the chunks of a JSON Lines file in parallel.
+     * A value of 0 uses one thread per available processor.
+     */
+    public static final String LINES_PARALLELISM = "apicurio.validation.json.lines-parallelism";
+    public static final int LINES_PARALLELISM_DEFAULT = 0;
+
+    /**
+     * Size in bytes of the chunks a JSON Lines file is split into, chunks are extended to the end of their last line.
+     * At most {@link #LINES_CHUNK_SIZE_MAX}, a chunk and the line running past its end are mapped at once.
+     */
+    public static final String LINES_CHUNK_SIZE = "apicurio.validation.json.lines-chunk-size";
+    public static final int LINES_CHUNK_SIZE_DEFAULT = 8 * 1024 * 1024;
+    public static final int LINES_CHUNK_SIZE_MAX = 512 * 1024 * 1024;
+
+    private final Map<String, ?> originals;
+
+    public JsonValidatorConfig(Map<String, ?> originals) {
+        this.originals = originals == null ? Map.of() : originals;
+    }
+
+    public boolean isStreaming() {
+        return getBoolean(STREAMING, STREAMING_DEFAULT);
+    }
+
+    public int getStreamingPlanCacheSize() {
+        return getInt(STREAMING_PLAN_CACHE_SIZE, STREAMING_PLAN_CACHE_SIZE_DEFAULT);
+    }
+
+    public long getSchemaCacheTtlMs() {
+        return Math.max(0, getLong(SCHEMA_CACHE_TTL_MS, SCHEMA_CACHE_TTL_MS_DEFAULT));
+    }
+
+    public int getSchemaCacheSize() {
+        return getInt(SCHEMA_CACHE_SIZE, SCHEMA_CACHE_SIZE_DEFAULT);
+    }
+
+    public long getNegativeCacheTtlMs() {
+        return Math.max(0, getLong(NEGATIVE_CACHE_TTL_MS, NEGATIVE_CACHE_TTL_MS_DEFAULT));
+    }
+
+    public int getNegativeCacheSize() {
+        return getInt(NEGATIVE_CACHE_SIZE, NEGATIVE_CACHE_SIZE_DEFAULT);
+    }
+
+    /**
+     * @return the snapshot directory, or null if schemas are not kept locally
+     */
+    public Path getSnapshotDir() {
+        Object value = originals.get(SNAPSHOT_DIR);
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        return value instanceof Path ? (Path) value : Path.of(value.toString().trim());
+    }
+
+    /**
+     * @return the maximum number of errors to report, 0 if every error is reported
+     */
+    public int getMaxErrors() {
+        if (getBoolean(FAIL_FAST, FAIL_FAST_DEFAULT)) {
+            return 1;
+        }
+        return Math.max(0, getInt(MAX_ERRORS, MAX_ERRORS_DEFAULT));
+    }
+
+    public int getLinesParallelism() {
+        int parallelism = getInt(LINES_PARALLELISM, LINES_PARALLELISM_DEFAULT);
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getLinesChunkSize() {
+        return Math.min(LINES_CHUNK_SIZE_MAX, Math.max(1, getInt(LINES_CHUNK_SIZE, LINES_CHUNK_SIZE_DEFAULT)));
+    }
+
+    private boolean getBoolean(String key, boolean defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    private long getLong(String key, long defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    private int getInt(String key, int defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+}
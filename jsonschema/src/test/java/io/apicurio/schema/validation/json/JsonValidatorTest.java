@@ -15,19 +15,44 @@
  */
 package io.apicurio.schema.validation.json;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.ParsedSchemaImpl;
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.utils.IoUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +109,506 @@ public class JsonValidatorTest {
         assertEquals(2, result.getValidationErrors().size());
     }
 
+    @Test
+    public void testStreamingValidationMatchesTreeValidation() throws IOException {
+        JsonValidator validator = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.STREAMING, true)));
+
+        JsonSchema schema = createSchemaFromResource("order.json");
+
+        List<String> payloads = List.of(
+                "{\"id\":\"A-1\",\"status\":\"NEW\",\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":2,\"price\":9.5}]}",
+                "{\"id\":\"A-1\",\"status\":null,\"version\":2.0,\"created\":\"2024-01-01T00:00:00Z\","
+                        + "\"tags\":[\"a\",\"b\"],\"attributes\":{\"gift\":true},\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":3.0}]}",
+                "{\"id\":\"A\",\"status\":\"LOST\",\"version\":3,\"created\":\"yesterday\",\"tags\":[\"a\",\"a\",1],"
+                        + "\"attributes\":{\"a\":1,\"b\":\"x\",\"c\":false},\"lines\":[{\"sku\":\"abc\",\"quantity\":0.5,\"price\":0},"
+                        + "{\"quantity\":101}],\"extra\":{\"nested\":[1,2]}}",
+                "{\"id\":\"A-1\",\"status\":{\"code\":1},\"lines\":[]}",
+                "[1,2,3]");
+
+        for (String payload : payloads) {
+            JsonValidationResult expected = validator.validate(schema, objectMapper.readTree(payload));
+            JsonValidationResult result;
+            try (JsonParser parser = objectMapper.getFactory().createParser(payload.getBytes(StandardCharsets.UTF_8))) {
+                result = validator.validateStreaming(schema, parser);
+            }
+
+            assertEquals(expected.success(), result.success(), payload);
+            assertEquals(errorSet(expected), errorSet(result), payload);
+        }
+    }
+
+    @Test
+    public void testStreamingValidationOfMalformedPayload() throws IOException {
+        JsonValidator validator = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.STREAMING, true)));
+
+        JsonSchema schema = createSchemaFromResource("order.json");
+
+        try (JsonParser parser = objectMapper.getFactory().createParser("{\"id\":\"A-1\",\"lines\":[".getBytes(StandardCharsets.UTF_8))) {
+            var result = validator.validateStreaming(schema, parser);
+
+            assertFalse(result.success());
+            assertEquals(1, result.getValidationErrors().size());
+        }
+    }
+
+    @Test
+    public void testBeanTreeMatchesJackson() {
+        JsonTreeBuilder treeBuilder = new JsonTreeBuilder(objectMapper);
+
+        TestMessageBean message = new TestMessageBean();
+        message.setMessage("hello");
+        message.setTime(System.currentTimeMillis());
+
+        TestEnvelopeBean envelope = new TestEnvelopeBean();
+        envelope.setMessages(List.of(message, new TestMessageBean()));
+        envelope.setHeaders(Map.of("id", 1, "tags", List.of("a", "b")));
+        envelope.setPriority(TestEnvelopeBean.Priority.HIGH);
+        envelope.setCreated(new java.util.Date(0));
+        envelope.setSecret("hidden");
+
+        assertEquals(objectMapper.valueToTree(message), treeBuilder.toTree(message));
+        assertEquals(objectMapper.valueToTree(envelope), treeBuilder.toTree(envelope));
+        assertEquals(objectMapper.valueToTree(new TestEnvelopeBean()), treeBuilder.toTree(new TestEnvelopeBean()));
+        assertEquals(objectMapper.valueToTree(Map.of("k", envelope)), treeBuilder.toTree(Map.of("k", envelope)));
+    }
+
+    @Test
+    public void testSchemaParserSharesCompiledSchemas() {
+        byte[] rawSchema = readResource("message.json").getBytes(StandardCharsets.UTF_8);
+
+        JsonSchema first = new JsonValidator.JsonSchemaParser().parseSchema(rawSchema, Map.of());
+        JsonSchema second = new JsonValidator.JsonSchemaParser().parseSchema(rawSchema.clone(), Map.of());
+        JsonSchema other = new JsonValidator.JsonSchemaParser().parseSchema(
+                readResource("message-invalid.json").getBytes(StandardCharsets.UTF_8), Map.of());
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    public void testSchemaParserKeysCompiledSchemasByReferences() {
+        JsonValidator validator = new JsonValidator();
+        JsonValidator.JsonSchemaParser parser = new JsonValidator.JsonSchemaParser();
+        byte[] rawSchema = ("{\"$schema\":\"http://json-schema.org/draft-07/schema#\","
+                + "\"properties\":{\"id\":{\"$ref\":\"https://example.com/id.json\"}}}").getBytes(StandardCharsets.UTF_8);
+
+        JsonSchema stringIds = parser.parseSchema(rawSchema, Map.of("id.json",
+                parseReference(parser, "{\"$id\":\"https://example.com/id.json\",\"type\":\"string\"}")));
+        JsonSchema integerIds = parser.parseSchema(rawSchema, Map.of("id.json",
+                parseReference(parser, "{\"$id\":\"https://example.com/id.json\",\"type\":\"integer\"}")));
+
+        assertNotSame(stringIds, integerIds);
+        JsonNode payload = objectMapper.createObjectNode().put("id", 1);
+        assertFalse(validator.validate(stringIds, payload).success());
+        assertTrue(validator.validate(integerIds, payload).success());
+    }
+
+    private ParsedSchema<JsonSchema> parseReference(JsonValidator.JsonSchemaParser parser, String reference) {
+        byte[] rawReference = reference.getBytes(StandardCharsets.UTF_8);
+        return new ParsedSchemaImpl<JsonSchema>()
+                .setParsedSchema(parser.parseSchema(rawReference, Map.of()))
+                .setRawSchema(rawReference)
+                .setReferenceName("id.json");
+    }
+
+    @Test
+    public void testMaxErrors() throws IOException {
+        JsonSchema schema = createSchemaFromResource("order.json");
+        JsonNode payload = objectMapper.readTree("{\"id\":1,\"status\":\"LOST\",\"lines\":[{},{},{}]}");
+
+        JsonValidator failFast = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.FAIL_FAST, true)));
+        JsonValidator maxErrors = new JsonValidator(new JsonValidatorConfig(Map.of(
+                JsonValidatorConfig.MAX_ERRORS, 3, JsonValidatorConfig.STREAMING, true)));
+
+        assertEquals(8, new JsonValidator().validate(schema, payload).getValidationErrors().size());
+        assertEquals(1, failFast.validate(schema, payload).getValidationErrors().size());
+        assertEquals(3, maxErrors.validate(schema, payload).getValidationErrors().size());
+        try (JsonParser parser = objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(payload))) {
+            assertEquals(3, maxErrors.validateStreaming(schema, parser).getValidationErrors().size());
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(payload))) {
+            assertEquals(1, failFast.validateStreaming(schema, parser).getValidationErrors().size());
+        }
+    }
+
+    @Test
+    public void testByteBufferPayloads() throws IOException {
+        JsonSchema schema = createSchemaFromResource("order.json");
+        byte[] valid = "{\"id\":\"A-1\",\"status\":\"NEW\",\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":2}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] invalid = "{\"id\":1,\"status\":\"LOST\",\"lines\":[{}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = "{\"id\":\"A-1\",\"lines\":[{\"sku\":".getBytes(StandardCharsets.UTF_8);
+        JsonMetadata metadata = new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("order").build());
+
+        for (boolean streaming : List.of(false, true)) {
+            JsonValidator validator = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.STREAMING, streaming))) {
+                @Override
+                protected JsonSchema resolveSchema(Record<Object> record) {
+                    return schema;
+                }
+            };
+            int invalidErrors = validator.validate(schema, objectMapper.readTree(invalid)).getValidationErrors().size();
+
+            for (ByteBuffer buffer : List.of(heapSlice(valid), directBuffer(valid), heapSlice(valid).asReadOnlyBuffer())) {
+                int position = buffer.position();
+                assertTrue(validator.validate(new JsonRecord(buffer, metadata)).success(), "streaming " + streaming);
+                assertEquals(position, buffer.position());
+                // the same buffer can be validated again
+                assertTrue(validator.validate(new JsonRecord(buffer, metadata)).success(), "streaming " + streaming);
+            }
+            for (ByteBuffer buffer : List.of(heapSlice(invalid), directBuffer(invalid))) {
+                var result = validator.validate(new JsonRecord(buffer, metadata));
+                assertFalse(result.success());
+                assertEquals(invalidErrors, result.getValidationErrors().size(), "streaming " + streaming);
+            }
+            assertFalse(validator.validate(new JsonRecord(directBuffer(truncated), metadata)).success());
+        }
+
+        // nothing to skip before the first token
+        try (JsonParser parser = ByteBufferJsonParser.create(objectMapper.getFactory(), directBuffer(valid))) {
+            assertSame(parser, parser.skipChildren());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            parser.skipChildren();
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    public void testByteArrayAndStreamPayloadsInBothModes() {
+        JsonSchema schema = createSchemaFromResource("order.json");
+        byte[] valid = "{\"id\":\"A-1\",\"status\":\"NEW\",\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":2}]}".getBytes(StandardCharsets.UTF_8);
+        byte[] invalid = "{\"id\":1,\"status\":\"LOST\",\"lines\":[{}]}".getBytes(StandardCharsets.UTF_8);
+        JsonMetadata metadata = new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("order").build());
+
+        List<List<String>> byteArrayErrors = new ArrayList<>();
+        List<List<String>> streamErrors = new ArrayList<>();
+        for (boolean streaming : List.of(false, true)) {
+            JsonValidator validator = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.STREAMING, streaming))) {
+                @Override
+                protected JsonSchema resolveSchema(Record<Object> record) {
+                    return schema;
+                }
+            };
+            // a byte[] is a binary value, it does not match an object schema even when it holds a serialized document
+            var result = validator.validate(new JsonRecord(valid, metadata));
+            assertFalse(result.success(), "streaming " + streaming);
+            byteArrayErrors.add(result.getValidationErrors().stream().map(ValidationError::getContext).collect(Collectors.toList()));
+
+            assertTrue(validator.validate(new JsonRecord(new ByteArrayInputStream(valid), metadata)).success(), "streaming " + streaming);
+            result = validator.validate(new JsonRecord(new ByteArrayInputStream(invalid), metadata));
+            assertFalse(result.success(), "streaming " + streaming);
+            streamErrors.add(result.getValidationErrors().stream().map(ValidationError::getContext).sorted().collect(Collectors.toList()));
+        }
+        assertEquals(byteArrayErrors.get(0), byteArrayErrors.get(1));
+        assertEquals(streamErrors.get(0), streamErrors.get(1));
+    }
+
+    @Test
+    public void testValidateLines(@TempDir Path directory) throws IOException {
+        JsonSchema schema = createSchemaFromResource("order.json");
+        List<String> lines = List.of(
+                "{\"id\":\"A-1\",\"status\":\"NEW\",\"lines\":[{\"sku\":\"ABC-1\",\"quantity\":2}]}",
+                "{\"id\":1,\"status\":\"LOST\",\"lines\":[{}]}",
+                "  ",
+                "{\"id\":",
+                "{\"id\":\"B-2\",\"status\":null,\"lines\":[{\"sku\":\"XYZ-9\",\"quantity\":1}]}\r",
+                "{\"id\":\"C-3\",\"lines\":[{\"sku\":\"abc\",\"quantity\":0}]}");
+        StringBuilder content = new StringBuilder();
+        List<Long> expectedLines = new ArrayList<>();
+        List<Boolean> expectedSuccess = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            for (int l = 0; l < lines.size(); l++) {
+                content.append(lines.get(l)).append('\n');
+                if (l != 2) {
+                    expectedLines.add((long) i * lines.size() + l + 1);
+                    expectedSuccess.add(l == 0 || l == 4);
+                }
+            }
+        }
+        // the last line is not terminated
+        content.setLength(content.length() - 1);
+        Path file = Files.writeString(directory.resolve("orders.jsonl"), content);
+
+        for (boolean streaming : List.of(false, true)) {
+            for (int chunkSize : List.of(1, 37, 1024 * 1024, Integer.MAX_VALUE)) {
+                JsonValidator validator = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.STREAMING, streaming,
+                        JsonValidatorConfig.LINES_CHUNK_SIZE, chunkSize, JsonValidatorConfig.LINES_PARALLELISM, 3)));
+                List<JsonLineValidationResult> results = new ArrayList<>();
+                validator.validateLines(schema, file, results::add);
+
+                String message = "streaming " + streaming + ", chunk size " + chunkSize;
+                assertEquals(expectedLines, results.stream().map(JsonLineValidationResult::getLineNumber).collect(Collectors.toList()), message);
+                assertEquals(expectedSuccess, results.stream().map(JsonLineValidationResult::success).collect(Collectors.toList()), message);
+                assertEquals("MALFORMED_PAYLOAD", results.get(2).getResult().getValidationErrors().get(0).getContext(), message);
+            }
+        }
+        assertEquals(JsonValidatorConfig.LINES_CHUNK_SIZE_MAX,
+                new JsonValidatorConfig(Map.of(JsonValidatorConfig.LINES_CHUNK_SIZE, Integer.MAX_VALUE)).getLinesChunkSize());
+    }
+
+    private static ByteBuffer heapSlice(byte[] payload) {
+        byte[] array = new byte[payload.length + 8];
+        System.arraycopy(payload, 0, array, 4, payload.length);
+        return ByteBuffer.wrap(array, 2, payload.length + 4).slice().position(2).limit(payload.length + 2);
+    }
+
+    private static ByteBuffer directBuffer(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length + 3);
+        buffer.put(new byte[3]).put(payload).flip();
+        return buffer.position(3);
+    }
+
+    @Test
+    public void testWarmUpAndSnapshot(@TempDir Path directory) throws IOException {
+        byte[] rawSchema = readResource("message.json").getBytes(StandardCharsets.UTF_8);
+        ParsedSchemaImpl<JsonSchema> main = new ParsedSchemaImpl<JsonSchema>()
+                .setParsedSchema(new JsonValidator.JsonSchemaParser().parseSchema(rawSchema, Map.of()))
+                .setRawSchema(rawSchema);
+
+        JsonValidatorConfig config = new JsonValidatorConfig(Map.of(JsonValidatorConfig.SNAPSHOT_DIR, directory.toString(),
+                JsonValidatorConfig.STREAMING, true));
+        AtomicInteger resolutions = new AtomicInteger();
+        JsonValidator validator = new JsonValidator(config) {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                throw new IllegalStateException("not warmed up");
+            }
+
+            @Override
+            protected ParsedSchema<JsonSchema> resolveSchema(ArtifactReference reference) {
+                resolutions.incrementAndGet();
+                if (!"message".equals(reference.getArtifactId())) {
+                    throw new IllegalStateException("artifact not found");
+                }
+                return main;
+            }
+        };
+        ArtifactReference reference = ArtifactReference.builder().groupId("default").artifactId("message").build();
+        ArtifactReference missing = ArtifactReference.builder().groupId("default").artifactId("missing").build();
+
+        List<JsonValidationResult> results = validator.warmUp(List.of(reference, missing));
+        assertTrue(results.get(0).success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", results.get(1).getValidationErrors().get(0).getContext());
+        assertEquals(2, resolutions.get());
+
+        JsonRecord record = new JsonRecord(createTestMessageBean(), new JsonMetadata(reference));
+        assertTrue(validator.validate(record).success());
+
+        // a corrupt file of the snapshot is skipped
+        Files.write(directory.resolve("corrupt.schema"), new byte[] {0, 0, 0, 1, 1});
+
+        // a new validator validates with the snapshot while the registry is unavailable
+        AtomicInteger refreshes = new AtomicInteger();
+        JsonValidator restarted = new JsonValidator(config) {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                throw new IllegalStateException("registry unavailable");
+            }
+
+            @Override
+            protected ParsedSchema<JsonSchema> resolveSchema(ArtifactReference reference) {
+                refreshes.incrementAndGet();
+                throw new IllegalStateException("registry unavailable");
+            }
+        };
+        restarted.loadSnapshot(new JsonValidator.JsonSchemaParser());
+        // the snapshot is refreshed from the registry once the validator is used, not while it is created
+        assertEquals(0, refreshes.get());
+        assertTrue(restarted.validate(record).success());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (refreshes.get() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, refreshes.get());
+        // the snapshot schemas are pinned, with the default time to live, until a refresh succeeds
+        assertTrue(restarted.validate(record).success());
+        assertFalse(restarted.validate(new JsonRecord(createTestMessageBean(), null)).success());
+    }
+
+    @Test
+    public void testRefreshedCacheEntriesAreQueuedOnce() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("other", 0);
+        for (int i = 0; i < 1000; i++) {
+            // an expired entry is removed and then stored again by the next resolution
+            cache.put("artifact", i);
+            cache.remove("artifact", i);
+        }
+        cache.put("artifact", 1000);
+        assertEquals(2, cache.queuedKeys());
+        assertEquals(0, cache.get("other"));
+        assertEquals(1000, cache.get("artifact"));
+
+        cache.remove("artifact", 999);
+        assertEquals(1000, cache.get("artifact"));
+        assertEquals(2, cache.queuedKeys());
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneResolution() throws Exception {
+        JsonSchema schema = createSchemaFromResource("message.json");
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JsonValidator validator = new JsonValidator() {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                resolutions.incrementAndGet();
+                resolving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return schema;
+            }
+        };
+        JsonRecord record = new JsonRecord(createTestMessageBean(),
+                new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonValidationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> validator.validate(record)));
+            }
+            resolving.await();
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<JsonValidationResult> result : results) {
+                assertTrue(result.get().success());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testFailedResolutionsAreCached() throws Exception {
+        AtomicInteger resolutions = new AtomicInteger();
+        JsonValidator validator = new JsonValidator() {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                resolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        JsonRecord record = new JsonRecord(createTestMessageBean(),
+                new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build()));
+
+        JsonValidationResult result = validator.validate(record);
+        assertFalse(result.success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", result.getValidationErrors().get(0).getContext());
+        assertSame(result, validator.validate(record));
+        assertSame(result, validator.validateAll(List.of(record, record)).get(1));
+        assertSame(result, validator.validateAsync(record).toCompletableFuture().getNow(null));
+        assertEquals(1, resolutions.get());
+
+        // records without an artifact reference have no key to remember the failure by
+        JsonRecord unkeyed = new JsonRecord(createTestMessageBean(), null);
+        assertFalse(validator.validate(unkeyed).success());
+        assertFalse(validator.validate(unkeyed).success());
+        assertEquals(3, resolutions.get());
+
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        JsonValidator uncached = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.NEGATIVE_CACHE_TTL_MS, 0))) {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                uncachedResolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        assertFalse(uncached.validate(record).success());
+        assertFalse(uncached.validate(record).success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testValidateAsync() {
+        JsonSchema schema = createSchemaFromResource("message.json");
+        AtomicInteger resolutions = new AtomicInteger();
+        // the default configuration validates records of recently resolved artifacts inline
+        JsonValidator validator = new JsonValidator() {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                resolutions.incrementAndGet();
+                return schema;
+            }
+        };
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        JsonMetadata metadata = new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build());
+        JsonRecord record = new JsonRecord(createTestMessageBean(), metadata);
+
+        assertTrue(validator.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(1, tasks.get());
+
+        // the schema is cached, the record is validated inline
+        CompletableFuture<JsonValidationResult> cached = validator.validateAsync(record, executor).toCompletableFuture();
+        assertTrue(cached.isDone());
+        assertTrue(cached.join().success());
+        assertEquals(1, tasks.get());
+        assertEquals(1, resolutions.get());
+
+        // records without artifact reference are always resolved on the executor
+        JsonRecord anonymous = new JsonRecord(createTestMessageBean(), null);
+        assertTrue(validator.validateAsync(anonymous, executor).toCompletableFuture().join().success());
+        assertEquals(2, tasks.get());
+        assertTrue(validator.validateAsync(anonymous).toCompletableFuture().join().success());
+        assertEquals(3, resolutions.get());
+
+        // without a schema cache every record is resolved, the schema resolver decides when to contact the registry
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        JsonValidator uncached = new JsonValidator(new JsonValidatorConfig(Map.of(JsonValidatorConfig.SCHEMA_CACHE_TTL_MS, 0))) {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                uncachedResolutions.incrementAndGet();
+                return validator.resolveSchema(record);
+            }
+        };
+        assertTrue(uncached.validate(record).success());
+        assertTrue(uncached.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testValidateAllResolvesEachSchemaOnce() {
+        JsonSchema schema = createSchemaFromResource("message-invalid.json");
+        AtomicInteger resolutions = new AtomicInteger();
+        JsonValidator validator = new JsonValidator() {
+            @Override
+            protected JsonSchema resolveSchema(Record<Object> record) {
+                resolutions.incrementAndGet();
+                return schema;
+            }
+        };
+        JsonMetadata metadata = new JsonMetadata(ArtifactReference.builder().groupId("default").artifactId("message").build());
+
+        List<JsonValidationResult> results = validator.validateAll(List.of(
+                new JsonRecord(createTestMessageBean(), metadata),
+                new JsonRecord(Map.of("message", "hello"), metadata),
+                new JsonRecord(createTestMessageBean(), metadata)));
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertEquals(1, results.get(1).getValidationErrors().size());
+        assertEquals(1, resolutions.get());
+    }
+
+    private Set<String> errorSet(JsonValidationResult result) {
+        if (result.getValidationErrors() == null) {
+            return Set.of();
+        }
+        return result.getValidationErrors().stream()
+                .map(error -> error.getContext() + " " + error.getDescription())
+                .collect(Collectors.toSet());
+    }
+
     private JsonNode createTestMessageBean() {
         TestMessageBean message = new TestMessageBean();
         message.setMessage("hello");
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.protobuf;
+
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.FieldDescriptor.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares a message type of a schema from the registry (before) with the descriptor of a compiled message (after)
+ * and reports the same class of differences as the registry protobuf compatibility checker: use of reserved fields,
+ * removed reservations, fields removed without reservation, changed field ids, names, types, labels and oneofs and
+ * changed proto2 required fields. The message types referenced by fields, nested or imported, are compared as well.
+ * Descriptors are walked directly, no intermediate proto text elements are built.
+ */
+final class ProtobufDescriptorDiff {
+
+    private static final List<Set<Type>> COMPATIBLE_TYPES = List.of(
+            EnumSet.of(Type.INT32, Type.UINT32, Type.INT64, Type.UINT64, Type.BOOL),
+            EnumSet.of(Type.SINT32, Type.SINT64),
+            EnumSet.of(Type.STRING, Type.BYTES),
+            EnumSet.of(Type.FIXED32, Type.SFIXED32),
+            EnumSet.of(Type.FIXED64, Type.SFIXED64));
+
+    private final List<ValidationError> differences = new ArrayList<>();
+    private final Set<Descriptors.Descriptor> compared = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final int maxErrors;
+
+    private ProtobufDescriptorDiff(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param maxErrors , the comparison stops once this number of differences has been found, 0 for no limit
+     */
+    static List<ValidationError> findDifferences(Descriptors.Descriptor before, Descriptors.Descriptor after,
+            int maxErrors) {
+        ProtobufDescriptorDiff diff = new ProtobufDescriptorDiff(maxErrors);
+        try {
+            diff.compareMessages(before, after);
+        } catch (ErrorLimitReached e) {
+            // enough differences found
+        }
+        return diff.differences;
+    }
+
+    private void compareMessages(Descriptors.Descriptor before, Descriptors.Descriptor after) {
+        if (!compared.add(before)) {
+            return;
+        }
+        String messageName = before.getFullName();
+
+        for (Descriptors.FieldDescriptor afterField : after.getFields()) {
+            if (before.isReservedNumber(afterField.getNumber()) || before.isReservedName(afterField.getName())) {
+                difference("Conflict of reserved field, message " + messageName + ", field " + afterField.getName()
+                        + " (" + afterField.getNumber() + ")", afterField.getFullName());
+            }
+            if (afterField.isRequired() && before.findFieldByNumber(afterField.getNumber()) == null) {
+                difference("Required field added, message " + messageName + ", field " + afterField.getName(),
+                        afterField.getFullName());
+            }
+        }
+
+        checkReservations(before, after);
+
+        for (Descriptors.FieldDescriptor beforeField : before.getFields()) {
+            Descriptors.FieldDescriptor afterField = after.findFieldByNumber(beforeField.getNumber());
+            if (afterField == null) {
+                if (!after.isReservedNumber(beforeField.getNumber())) {
+                    difference("Field removed without reservation, message " + messageName + ", field "
+                            + beforeField.getName() + " (" + beforeField.getNumber() + ")", beforeField.getFullName());
+                }
+                Descriptors.FieldDescriptor renumbered = after.findFieldByName(beforeField.getName());
+                if (renumbered != null) {
+                    difference("Conflict, field id changed, message " + messageName + ", field "
+                            + beforeField.getName() + ", before: " + beforeField.getNumber() + ", after: "
+                            + renumbered.getNumber(), beforeField.getFullName());
+                }
+                continue;
+            }
+            compareFields(messageName, beforeField, afterField);
+        }
+
+        for (Descriptors.FieldDescriptor beforeField : before.getFields()) {
+            Descriptors.FieldDescriptor afterField = after.findFieldByNumber(beforeField.getNumber());
+            if (afterField != null && beforeField.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE
+                    && afterField.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE
+                    && beforeField.getMessageType().getFullName().equals(afterField.getMessageType().getFullName())) {
+                compareMessages(beforeField.getMessageType(), afterField.getMessageType());
+            }
+        }
+    }
+
+    private void compareFields(String messageName, Descriptors.FieldDescriptor before,
+            Descriptors.FieldDescriptor after) {
+        if (!before.getName().equals(after.getName())) {
+            difference("Field name changed, message " + messageName + ", field " + before.getNumber() + ", before: "
+                    + before.getName() + ", after: " + after.getName(), before.getFullName());
+        }
+        if (!isCompatibleType(before, after)) {
+            difference("Field type changed, message " + messageName + ", field " + before.getName() + ", before: "
+                    + typeName(before) + ", after: " + typeName(after), before.getFullName());
+        }
+        if (before.isRequired() != after.isRequired()) {
+            difference("Required field changed, message " + messageName + ", field " + before.getName()
+                    + ", before: " + label(before) + ", after: " + label(after), before.getFullName());
+        }
+        String beforeOneof = oneofName(before);
+        String afterOneof = oneofName(after);
+        if (beforeOneof == null ? afterOneof != null : !beforeOneof.equals(afterOneof)) {
+            difference("Field oneof changed, message " + messageName + ", field " + before.getName() + ", before: "
+                    + beforeOneof + ", after: " + afterOneof, before.getFullName());
+        }
+    }
+
+    private void checkReservations(Descriptors.Descriptor before, Descriptors.Descriptor after) {
+        DescriptorProtos.DescriptorProto beforeProto = before.toProto();
+        if (beforeProto.getReservedRangeCount() == 0 && beforeProto.getReservedNameCount() == 0) {
+            return;
+        }
+        DescriptorProtos.DescriptorProto afterProto = after.toProto();
+        for (DescriptorProtos.DescriptorProto.ReservedRange range : beforeProto.getReservedRangeList()) {
+            boolean kept = afterProto.getReservedRangeList().stream()
+                    .anyMatch(r -> r.getStart() <= range.getStart() && r.getEnd() >= range.getEnd());
+            if (!kept) {
+                difference("Reserved field removed, message " + before.getFullName() + ", range " + range.getStart()
+                        + " to " + (range.getEnd() - 1), before.getFullName());
+            }
+        }
+        for (String name : beforeProto.getReservedNameList()) {
+            if (!after.isReservedName(name)) {
+                difference("Reserved field removed, message " + before.getFullName() + ", name " + name,
+                        before.getFullName());
+            }
+        }
+    }
+
+    private static boolean isCompatibleType(Descriptors.FieldDescriptor before, Descriptors.FieldDescriptor after) {
+        if (before.isRepeated() != after.isRepeated() || before.isMapField() != after.isMapField()) {
+            return false;
+        }
+        Type beforeType = before.getType();
+        Type afterType = after.getType();
+        if (beforeType == afterType) {
+            switch (beforeType) {
+                case MESSAGE:
+                case GROUP:
+                    return before.getMessageType().getFullName().equals(after.getMessageType().getFullName());
+                case ENUM:
+                    return before.getEnumType().getFullName().equals(after.getEnumType().getFullName());
+                default:
+                    return true;
+            }
+        }
+        for (Set<Type> group : COMPATIBLE_TYPES) {
+            if (group.contains(beforeType) && group.contains(afterType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String typeName(Descriptors.FieldDescriptor field) {
+        String type;
+        switch (field.getType()) {
+            case MESSAGE:
+            case GROUP:
+                type = field.getMessageType().getFullName();
+                break;
+            case ENUM:
+                type = field.getEnumType().getFullName();
+                break;
+            default:
+                type = field.getType().name().toLowerCase();
+        }
+        return field.isRepeated() ? "repeated " + type : type;
+    }
+
+    private static String label(Descriptors.FieldDescriptor field) {
+        if (field.isRequired()) {
+            return "required";
+        }
+        return field.isRepeated() ? "repeated" : "optional";
+    }
+
+    private static String oneofName(Descriptors.FieldDescriptor field) {
+        Descriptors.OneofDescriptor oneof = field.getRealContainingOneof();
+        return oneof == null ? null : oneof.getName();
+    }
+
+    private void difference(String description, String context) {
+        differences.add(new ValidationError(description, context));
+        ErrorLimitReached.check(differences.size(), maxErrors);
+    }
+}
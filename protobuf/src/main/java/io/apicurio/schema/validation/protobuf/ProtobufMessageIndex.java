@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.protobuf;
+
+import com.google.protobuf.Descriptors;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of every message type available in a schema by its fully qualified name, including nested message types and
+ * the message types of imported files. The message types declared by the schema file itself are also indexed on their
+ * own. Built once per schema file descriptor.
+ */
+final class ProtobufMessageIndex {
+
+    private final Map<String, Descriptors.Descriptor> messageTypes = new HashMap<>();
+    private final Map<String, Descriptors.Descriptor> declaredMessageTypes = new HashMap<>();
+    private final Descriptors.Descriptor firstMessageType;
+
+    private ProtobufMessageIndex(Descriptors.FileDescriptor fileDescriptor) {
+        this.firstMessageType = fileDescriptor.getMessageTypes().isEmpty() ? null
+                : fileDescriptor.getMessageTypes().get(0);
+        for (Descriptors.Descriptor messageType : fileDescriptor.getMessageTypes()) {
+            indexMessage(messageType, declaredMessageTypes);
+        }
+        indexFile(fileDescriptor, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    static ProtobufMessageIndex of(Descriptors.FileDescriptor fileDescriptor) {
+        return new ProtobufMessageIndex(fileDescriptor);
+    }
+
+    /**
+     * @param fullName , the fully qualified message name, e.g. {@code package.Outer.Inner}
+     * @return the message type or null if the schema does not contain it
+     */
+    Descriptors.Descriptor findMessageType(String fullName) {
+        return messageTypes.get(fullName);
+    }
+
+    /**
+     * @param fullName , the fully qualified message name, e.g. {@code package.Outer.Inner}
+     * @return the message type or null if the schema file itself does not declare it, imported types are not returned
+     */
+    Descriptors.Descriptor findDeclaredMessageType(String fullName) {
+        return declaredMessageTypes.get(fullName);
+    }
+
+    /**
+     * @return the first message type declared in the schema file itself, or null if it has none
+     */
+    Descriptors.Descriptor firstMessageType() {
+        return firstMessageType;
+    }
+
+    private void indexFile(Descriptors.FileDescriptor fileDescriptor, Set<Descriptors.FileDescriptor> visited) {
+        if (!visited.add(fileDescriptor)) {
+            return;
+        }
+        for (Descriptors.Descriptor messageType : fileDescriptor.getMessageTypes()) {
+            indexMessage(messageType, messageTypes);
+        }
+        for (Descriptors.FileDescriptor dependency : fileDescriptor.getDependencies()) {
+            indexFile(dependency, visited);
+        }
+    }
+
+    private static void indexMessage(Descriptors.Descriptor messageType, Map<String, Descriptors.Descriptor> index) {
+        // types of the schema file itself are indexed first and win over same named imported types
+        index.putIfAbsent(messageType.getFullName(), messageType);
+        for (Descriptors.Descriptor nestedType : messageType.getNestedTypes()) {
+            indexMessage(nestedType, index);
+        }
+    }
+}
@@ -21,6 +21,15 @@ import java.util.Map;
 
 public class ProtobufSchemaParser<U extends Message> implements SchemaParser<ProtobufSchema, U> {
 
+    private static final int SCHEMAS_FROM_DATA_CACHE_SIZE = 1000;
+
+    /**
+     * Schemas extracted from data, keyed by file descriptor. File descriptors use identity equality. The descriptors of
+     * generated messages live as long as their classes, the limit only matters for dynamically built descriptors.
+     */
+    private final BoundedCache<Descriptors.FileDescriptor, ParsedSchema<ProtobufSchema>> schemasFromData =
+            new BoundedCache<>(SCHEMAS_FROM_DATA_CACHE_SIZE);
+
     @Override
     public String artifactType() {
         return ArtifactType.PROTOBUF;
@@ -77,15 +86,7 @@ public class ProtobufSchemaParser<U extends Message> implements SchemaParser<Pro
 
     @Override
     public ParsedSchema<ProtobufSchema> getSchemaFromData(Record<U> data) {
-        Descriptors.FileDescriptor schemaFileDescriptor = data.payload().getDescriptorForType().getFile();
-        ProtoFileElement protoFileElement = toProtoFileElement(schemaFileDescriptor);
-        ProtobufSchema protobufSchema = new ProtobufSchema(schemaFileDescriptor, protoFileElement);
-
-        byte[] rawSchema = IoUtil.toBytes(protoFileElement.toSchema());
-
-        return new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(protobufSchema)
-                .setReferenceName(protobufSchema.getFileDescriptor().getName())
-                .setSchemaReferences(handleDependencies(schemaFileDescriptor)).setRawSchema(rawSchema);
+        return getSchemaFromFileDescriptor(data.payload().getDescriptorForType().getFile());
     }
 
     @Override
@@ -93,24 +94,29 @@ public class ProtobufSchemaParser<U extends Message> implements SchemaParser<Pro
         return null;
     }
 
-    private List<ParsedSchema<ProtobufSchema>> handleDependencies(Descriptors.FileDescriptor fileDescriptor) {
-        List<ParsedSchema<ProtobufSchema>> schemaReferences = new ArrayList<>();
-        fileDescriptor.getDependencies().forEach(referenceFileDescriptor -> {
+    /**
+     * Builds the schema for the given file descriptor and its dependencies once, later calls for the same file
+     * descriptor, either as the schema of a record or as a dependency of another file, return the same instance while
+     * it is cached.
+     */
+    private ParsedSchema<ProtobufSchema> getSchemaFromFileDescriptor(Descriptors.FileDescriptor fileDescriptor) {
+        // the loader runs outside of the cache, dependencies are added to it while the schema is built
+        return schemasFromData.computeIfAbsent(fileDescriptor, this::buildSchema);
+    }
 
-            ProtoFileElement referenceProtoFileElement = toProtoFileElement(referenceFileDescriptor);
-            ProtobufSchema referenceProtobufSchema = new ProtobufSchema(referenceFileDescriptor,
-                    referenceProtoFileElement);
+    private ParsedSchema<ProtobufSchema> buildSchema(Descriptors.FileDescriptor fileDescriptor) {
+        ProtoFileElement protoFileElement = toProtoFileElement(fileDescriptor);
+        ProtobufSchema protobufSchema = new ProtobufSchema(fileDescriptor, protoFileElement);
 
-            byte[] rawSchema = IoUtil.toBytes(referenceProtoFileElement.toSchema());
+        byte[] rawSchema = IoUtil.toBytes(protoFileElement.toSchema());
 
-            ParsedSchema<ProtobufSchema> referencedSchema = new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(
-                            referenceProtobufSchema)
-                    .setReferenceName(referenceProtobufSchema.getFileDescriptor().getName())
-                    .setSchemaReferences(handleDependencies(referenceFileDescriptor)).setRawSchema(rawSchema);
-            schemaReferences.add(referencedSchema);
-        });
+        List<ParsedSchema<ProtobufSchema>> schemaReferences = new ArrayList<>();
+        fileDescriptor.getDependencies().forEach(referenceFileDescriptor ->
+                schemaReferences.add(getSchemaFromFileDescriptor(referenceFileDescriptor)));
 
-        return schemaReferences;
+        return new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(protobufSchema)
+                .setReferenceName(protobufSchema.getFileDescriptor().getName())
+                .setSchemaReferences(schemaReferences).setRawSchema(rawSchema);
     }
 
     public ProtoFileElement toProtoFileElement(Descriptors.FileDescriptor fileDescriptor) {
@@ -1,23 +1,24 @@
 package io.apicurio.schema.validation.protobuf;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
-import com.squareup.wire.schema.internal.parser.FieldElement;
-import com.squareup.wire.schema.internal.parser.MessageElement;
-import com.squareup.wire.schema.internal.parser.OneOfElement;
-import com.squareup.wire.schema.internal.parser.ProtoFileElement;
-import com.squareup.wire.schema.internal.parser.TypeElement;
-import io.apicurio.registry.protobuf.ProtobufDifference;
-import io.apicurio.registry.protobuf.rules.compatibility.protobuf.ProtobufCompatibilityCheckerLibrary;
 import io.apicurio.registry.resolver.*;
 import io.apicurio.registry.resolver.config.SchemaResolverConfig;
 import io.apicurio.registry.resolver.data.Record;
 import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.rest.client.models.ProblemDetails;
-import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Provides validation APIs for Protobuf objects against a Protobuf Schema.
@@ -28,14 +29,26 @@ import java.util.stream.Collectors;
 public class ProtobufValidator {
 
     private final ProtobufSchemaParser<Message> protobufSchemaUSchemaParser;
+    private final BoundedCache<VerdictKey, ProtobufValidationResult> verdictCache;
+    private final BoundedCache<Descriptors.Descriptor, ProtobufValuePlan> valuePlans;
+    private final BoundedCache<Descriptors.FileDescriptor, ProtobufMessageIndex> messageIndexes;
+    private final boolean valueValidation;
+    private final int maxErrors;
+    private final SchemaLookup<ParsedSchema<ProtobufSchema>, ProtobufValidationResult> schemaLookup;
+    private final Path snapshotDir;
+    private final AtomicReference<List<ArtifactReference>> snapshotRefresh = new AtomicReference<>();
     private SchemaResolver<ProtobufSchema, Message> schemaResolver;
     private ArtifactReference artifactReference;
 
+    // resolutions mostly wait for the registry, each one gets its own virtual thread
+    private static final Executor RESOLUTION_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("apicurio-protobuf-schema-resolution-", 0).factory());
+
     /**
      * Creates the Protobuf validator.
      * If artifactReference is provided it must exist in Apicurio Registry.
      *
-     * @param configuration,     configuration properties for {@link DefaultSchemaResolver} for config properties see {@link SchemaResolverConfig}
+     * @param configuration,     configuration properties for {@link DefaultSchemaResolver} for config properties see {@link SchemaResolverConfig}, validator specific properties are described in {@link ProtobufValidatorConfig}
      * @param artifactReference, optional {@link ArtifactReference} used as a static configuration to always use the same schema for validation when invoking validateArtifactByReference.
      */
     public ProtobufValidator(Map<String, Object> configuration,
@@ -43,12 +56,35 @@ public class ProtobufValidator {
         this.schemaResolver = new DefaultSchemaResolver();
         this.protobufSchemaUSchemaParser = new ProtobufSchemaParser<>();
         this.schemaResolver.configure(configuration, protobufSchemaUSchemaParser);
+        ProtobufValidatorConfig config = new ProtobufValidatorConfig(configuration);
+        this.verdictCache = new BoundedCache<>(config.getVerdictCacheSize());
+        this.valuePlans = new BoundedCache<>(config.getValuePlanCacheSize());
+        this.messageIndexes = new BoundedCache<>(config.getMessageIndexCacheSize());
+        this.valueValidation = config.isValueValidation();
+        this.maxErrors = config.getMaxErrors();
+        this.schemaLookup = new SchemaLookup<>(config.getSchemaCacheSize(), config.getSchemaCacheTtlMs(),
+                config.getNegativeCacheSize(), config.getNegativeCacheTtlMs());
+        this.snapshotDir = config.getSnapshotDir();
         artifactReference.ifPresent(reference -> this.artifactReference = reference);
+        loadSnapshot(protobufSchemaUSchemaParser);
     }
 
     protected ProtobufValidator() {
+        //for tests
+        this(new ProtobufValidatorConfig(Map.of()));
+    }
+
+    protected ProtobufValidator(ProtobufValidatorConfig config) {
         //for tests
         this.protobufSchemaUSchemaParser = new ProtobufSchemaParser<>();
+        this.verdictCache = new BoundedCache<>(config.getVerdictCacheSize());
+        this.valuePlans = new BoundedCache<>(config.getValuePlanCacheSize());
+        this.messageIndexes = new BoundedCache<>(config.getMessageIndexCacheSize());
+        this.valueValidation = config.isValueValidation();
+        this.maxErrors = config.getMaxErrors();
+        this.schemaLookup = new SchemaLookup<>(config.getSchemaCacheSize(), config.getSchemaCacheTtlMs(),
+                config.getNegativeCacheSize(), config.getNegativeCacheTtlMs());
+        this.snapshotDir = config.getSnapshotDir();
     }
 
     /**
@@ -61,14 +97,77 @@ public class ProtobufValidator {
     public ProtobufValidationResult validateByArtifactReference(Message bean) {
         Objects.requireNonNull(this.artifactReference,
                 "ArtifactReference must be provided when creating JsonValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        ProtobufValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        ParsedSchema<ProtobufSchema> schema;
         try {
-            SchemaLookupResult<ProtobufSchema> schema = this.schemaResolver.resolveSchemaByArtifactReference(
-                    this.artifactReference);
-            return validate(schema.getParsedSchema(), new ProtobufRecord(bean, null));
+            schema = lookupArtifactSchema(key);
         } catch (Exception e) {
-            return ProtobufValidationResult.fromErrors(List.of(
-                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
-            ));
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validate(schema, new ProtobufRecord(bean, null));
+        } catch (Exception e) {
+            return resolutionError(e);
+        }
+    }
+
+    /**
+     * Validates the provided Protobuf wire format bytes against a Protobuf Schema, without parsing them into a {@link Message}.
+     * The Protobuf Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     * The payload is validated against the first message type declared in the schema.
+     *
+     * @param payload , the serialized message that will be validated against the Protobuf Schema.
+     * @return ProtobufValidationResult
+     */
+    public ProtobufValidationResult validateByArtifactReference(byte[] payload) {
+        return validateByArtifactReference(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Validates the provided Protobuf wire format bytes against a Protobuf Schema, without parsing them into a {@link Message}.
+     * The Protobuf Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     * The payload is validated against the first message type declared in the schema. The buffer position is not modified.
+     *
+     * @param payload , the serialized message that will be validated against the Protobuf Schema.
+     * @return ProtobufValidationResult
+     */
+    public ProtobufValidationResult validateByArtifactReference(ByteBuffer payload) {
+        return validateByArtifactReference(payload, null);
+    }
+
+    /**
+     * Validates the provided Protobuf wire format bytes against a message type of a Protobuf Schema, without parsing them into a {@link Message}.
+     * The Protobuf Schema will be fetched from Apicurio Registry using the {@link ArtifactReference} provided in the constructor, this artifact must exist in the registry.
+     * The buffer position is not modified.
+     *
+     * @param payload     , the serialized message that will be validated against the Protobuf Schema.
+     * @param messageType , fully qualified name of the message type to validate against, it can be a nested type or a type imported by the schema. If null the first message type declared in the schema is used.
+     * @return ProtobufValidationResult
+     */
+    public ProtobufValidationResult validateByArtifactReference(ByteBuffer payload, String messageType) {
+        Objects.requireNonNull(this.artifactReference,
+                "ArtifactReference must be provided when creating ProtobufValidator in order to use this feature");
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(this.artifactReference);
+        ProtobufValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return failure;
+        }
+        ParsedSchema<ProtobufSchema> schema;
+        try {
+            schema = lookupArtifactSchema(key);
+        } catch (Exception e) {
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validate(schema, messageType, payload);
+        } catch (Exception e) {
+            return resolutionError(e);
         }
     }
 
@@ -82,115 +181,296 @@ public class ProtobufValidator {
      * @return ProtobufValidationResult
      */
     public ProtobufValidationResult validate(Record<Message> record) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        ProtobufValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            // failed recently, the schema resolver is not asked again until the failure expires
+            return failure;
+        }
+        ParsedSchema<ProtobufSchema> schema;
         try {
-            SchemaLookupResult<ProtobufSchema> schema = this.schemaResolver.resolveSchema(record);
-            return validate(schema.getParsedSchema(), record);
+            schema = lookupSchema(key, record);
         } catch (Exception e) {
-            return ProtobufValidationResult.fromErrors(List.of(
-                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
-            ));
+            return schemaLookup.fail(key, e, this::resolutionError);
+        }
+        try {
+            return validate(schema, record);
+        } catch (Exception e) {
+            return resolutionError(e);
         }
     }
 
-    protected ProtobufValidationResult validate(ParsedSchema<ProtobufSchema> schema, Record<Message> record) {
-        if (schema.getParsedSchema() != null && schema.getParsedSchema().getFileDescriptor()
-                .findMessageTypeByName(record.payload().getDescriptorForType().getName()) == null) {
+    /**
+     * Validates the payloads of the provided records, resolving each schema once per batch.
+     * Records are grouped by the {@link ArtifactReference} of their metadata, the schema of each group is resolved with the first record of the group
+     * and then used to validate all the records of the group. Records without an artifact reference are resolved one by one, like in {@link #validate(Record)}.
+     *
+     * @param records , the records used to resolve the schemas used for validation and to provide the payloads to validate.
+     * @return the validation results, in the same order as the provided records
+     */
+    public List<ProtobufValidationResult> validateAll(Collection<? extends Record<Message>> records) {
+        refreshSnapshot();
+        ProtobufValidationResult[] results = new ProtobufValidationResult[records.size()];
+        Map<ArtifactKey, List<Map.Entry<Integer, Record<Message>>>> groups = new LinkedHashMap<>();
+        int index = 0;
+        for (Record<Message> record : records) {
+            ArtifactKey key = ArtifactKey.of(record);
+            if (key == null) {
+                results[index] = validate(record);
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(Map.entry(index, record));
+            }
+            index++;
+        }
 
-            return ProtobufValidationResult.fromErrors(List.of(new ValidationError(
-                    "Missing message type " + record.payload().getDescriptorForType().getName()
-                            + " in the protobuf schema", "")));
+        for (Map.Entry<ArtifactKey, List<Map.Entry<Integer, Record<Message>>>> entry : groups.entrySet()) {
+            List<Map.Entry<Integer, Record<Message>>> group = entry.getValue();
+            ProtobufValidationResult failure = schemaLookup.failure(entry.getKey());
+            ParsedSchema<ProtobufSchema> schema = null;
+            if (failure == null) {
+                try {
+                    schema = lookupSchema(entry.getKey(), group.get(0).getValue());
+                } catch (Exception e) {
+                    failure = schemaLookup.fail(entry.getKey(), e, this::resolutionError);
+                }
+            }
+            if (failure != null) {
+                ProtobufValidationResult groupFailure = failure;
+                group.forEach(indexed -> results[indexed.getKey()] = groupFailure);
+                continue;
+            }
+            for (Map.Entry<Integer, Record<Message>> indexed : group) {
+                try {
+                    results[indexed.getKey()] = validate(schema, indexed.getValue());
+                } catch (Exception e) {
+                    results[indexed.getKey()] = resolutionError(e);
+                }
+            }
         }
+        return Arrays.asList(results);
+    }
 
-        List<ProtobufDifference> diffs = validate(schema, record.payload());
-        if (!diffs.isEmpty()) {
-            List<ValidationError> validationErrors = new ArrayList<>();
-            diffs.forEach(diff -> validationErrors.add(new ValidationError(diff.getMessage(), "")));
-            return ProtobufValidationResult.fromErrors(validationErrors);
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * See {@link #validateAsync(Record, Executor)}, schemas that are not cached are resolved on virtual threads.
+     *
+     * @param record , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @return the ProtobufValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<ProtobufValidationResult> validateAsync(Record<Message> record) {
+        return validateAsync(record, RESOLUTION_EXECUTOR);
+    }
+
+    /**
+     * Validates the payload of the provided Record without blocking the calling thread on the schema resolution.
+     * When the schema of the record artifact has been resolved recently, see {@link ProtobufValidatorConfig#SCHEMA_CACHE_TTL_MS}, the record is validated
+     * on the calling thread and the returned stage is already complete. Otherwise the schema is resolved and the record validated on the provided executor.
+     *
+     * @param record   , the record used to resolve the schema used for validation and to provide the payload to validate.
+     * @param executor , the executor resolving the schema when it is not cached.
+     * @return the ProtobufValidationResult, complete if the schema of the record has been resolved recently
+     */
+    public CompletionStage<ProtobufValidationResult> validateAsync(Record<Message> record, Executor executor) {
+        refreshSnapshot();
+        ArtifactKey key = ArtifactKey.of(record);
+        ProtobufValidationResult failure = schemaLookup.failure(key);
+        if (failure != null) {
+            return CompletableFuture.completedFuture(failure);
+        }
+        ParsedSchema<ProtobufSchema> schema = schemaLookup.cached(key);
+        if (schema == null) {
+            return CompletableFuture.supplyAsync(() -> validate(record), executor);
+        }
+        // resolved recently, the record is validated on the calling thread
+        try {
+            return CompletableFuture.completedFuture(validate(schema, record));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(resolutionError(e));
         }
+    }
 
-        return ProtobufValidationResult.SUCCESS;
+    /**
+     * Resolves and compiles the schemas of the provided artifacts in parallel, so that the first records of these artifacts do not wait for the registry.
+     * The resolved schemas are used by {@link #validate(Record)}, {@link #validateAll(Collection)} and {@link #validateAsync(Record)} for records carrying the same
+     * {@link ArtifactReference} until the artifact is warmed up again, whatever the {@link ProtobufValidatorConfig#SCHEMA_CACHE_TTL_MS}, so they remain available while the registry cannot be reached. When {@link ProtobufValidatorConfig#SNAPSHOT_DIR} is set the raw schemas are also stored there, to be loaded by the next validator instances.
+     *
+     * @param references , the artifacts to resolve.
+     * @return the ProtobufValidationResult of the resolution of each artifact, in the same order as the provided references
+     */
+    public List<ProtobufValidationResult> warmUp(Collection<ArtifactReference> references) {
+        refreshSnapshot();
+        List<CompletableFuture<ProtobufValidationResult>> warmUps = new ArrayList<>(references.size());
+        for (ArtifactReference reference : references) {
+            warmUps.add(CompletableFuture.supplyAsync(() -> warmUp(reference), RESOLUTION_EXECUTOR));
+        }
+        List<ProtobufValidationResult> results = new ArrayList<>(warmUps.size());
+        for (CompletableFuture<ProtobufValidationResult> warmUp : warmUps) {
+            results.add(warmUp.join());
+        }
+        return results;
+    }
+
+    /**
+     * Loads the schemas stored in the {@link ProtobufValidatorConfig#SNAPSHOT_DIR}.
+     * The schemas are refreshed from the registry in the background once the validator is first used, not while it is being created.
+     */
+    final void loadSnapshot(SchemaParser<ProtobufSchema, Message> parser) {
+        if (snapshotDir == null) {
+            return;
+        }
+        Map<ArtifactKey, ParsedSchema<ProtobufSchema>> snapshot = SchemaSnapshot.read(snapshotDir, parser);
+        List<ArtifactReference> references = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, schema) -> {
+            compile(schema);
+            schemaLookup.pin(key, schema);
+            references.add(key.toReference());
+        });
+        if (!references.isEmpty()) {
+            snapshotRefresh.set(references);
+        }
     }
 
-    private List<ProtobufDifference> validate(ParsedSchema<ProtobufSchema> schemaFromRegistry, Message data) {
-        ProtobufFile fileBefore = schemaFromRegistry.getParsedSchema().getProtobufFile();
-        ProtoFileElement afterElement = normalizeFieldTypes(
-                protobufSchemaUSchemaParser.toProtoFileElement(data.getDescriptorForType().getFile()));
-        ProtobufFile fileAfter = new ProtobufFile(afterElement);
-        ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore,
-                fileAfter);
-        return checker.findDifferences();
+    private void refreshSnapshot() {
+        if (snapshotRefresh.get() != null) {
+            List<ArtifactReference> references = snapshotRefresh.getAndSet(null);
+            if (references != null) {
+                CompletableFuture.runAsync(() -> warmUp(references), RESOLUTION_EXECUTOR);
+            }
+        }
     }
 
     /**
-     * Normalizes fully qualified type names in a ProtoFileElement to use short form.
-     * Compiled protobuf descriptors store types as fully qualified (e.g., .package.Type),
-     * while parsed proto text uses short names (e.g., Type). This normalization ensures
-     * consistent type name format for comparison.
+     * Resolves the schema used to validate the provided record.
      */
-    private ProtoFileElement normalizeFieldTypes(ProtoFileElement element) {
-        String packageName = element.getPackageName();
-        List<TypeElement> normalizedTypes = element.getTypes().stream()
-                .map(type -> type instanceof MessageElement
-                        ? normalizeMessage((MessageElement) type, packageName)
-                        : type)
-                .collect(Collectors.toList());
+    protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+        return this.schemaResolver.resolveSchema(record).getParsedSchema();
+    }
 
-        return new ProtoFileElement(element.getLocation(), element.getPackageName(),
-                element.getSyntax(), element.getImports(), element.getPublicImports(),
-                element.getWeakImports(), normalizedTypes, element.getServices(),
-                element.getExtendDeclarations(), element.getOptions());
+    /**
+     * Resolves the schema of the provided artifact, with its raw content and references.
+     */
+    protected ParsedSchema<ProtobufSchema> resolveSchema(ArtifactReference reference) {
+        return this.schemaResolver.resolveSchemaByArtifactReference(reference).getParsedSchema();
+    }
+
+    private ProtobufValidationResult resolutionError(Exception e) {
+        return ProtobufValidationResult.fromErrors(List.of(
+            new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
+        ));
+    }
+
+    private ParsedSchema<ProtobufSchema> lookupSchema(ArtifactKey key, Record<Message> record) {
+        return schemaLookup.resolve(key, () -> resolveSchema(record));
+    }
+
+    /**
+     * Resolves the schema of the {@link ArtifactReference} provided in the constructor, sharing the caches of the records of the same artifact.
+     */
+    private ParsedSchema<ProtobufSchema> lookupArtifactSchema(ArtifactKey key) {
+        return schemaLookup.resolve(key, () -> resolveSchema(this.artifactReference));
+    }
+
+    private ProtobufValidationResult warmUp(ArtifactReference reference) {
+        ParsedSchema<ProtobufSchema> schema;
+        try {
+            schema = resolveSchema(reference);
+            compile(schema);
+        } catch (Exception e) {
+            return ProtobufValidationResult.fromErrors(List.of(
+                new ValidationError("Failed to resolve schema from registry: " + extractErrorMessage(e), "SCHEMA_RESOLUTION_ERROR")
+            ));
+        }
+        ArtifactKey key = ArtifactKey.of(reference);
+        schemaLookup.pin(key, schema);
+        if (snapshotDir != null) {
+            try {
+                SchemaSnapshot.write(snapshotDir, key, schema);
+            } catch (IOException e) {
+                return ProtobufValidationResult.fromErrors(List.of(
+                    new ValidationError("Failed to write schema snapshot: " + e.getMessage(), "SCHEMA_SNAPSHOT_ERROR")
+                ));
+            }
+        }
+        return ProtobufValidationResult.SUCCESS;
     }
 
-    private MessageElement normalizeMessage(MessageElement msg, String packageName) {
-        List<FieldElement> normalizedFields = msg.getFields().stream()
-                .map(field -> normalizeFieldElement(field, packageName))
-                .collect(Collectors.toList());
+    private void compile(ParsedSchema<ProtobufSchema> schema) {
+        messageIndex(schema.getParsedSchema());
+    }
 
-        List<OneOfElement> normalizedOneOfs = new ArrayList<>();
-        for (OneOfElement oneOf : msg.getOneOfs()) {
-            List<FieldElement> oneOfFields = oneOf.getFields().stream()
-                    .map(field -> normalizeFieldElement(field, packageName))
-                    .collect(Collectors.toList());
-            normalizedOneOfs.add(new OneOfElement(oneOf.getName(), oneOf.getDocumentation(),
-                    oneOfFields, oneOf.getGroups(), oneOf.getOptions(), oneOf.getLocation()));
+    /**
+     * The verdict only depends on the registry schema and on the compiled message type, never on the message contents,
+     * so it is computed once per (schema, {@link Descriptors.Descriptor}) pair and then served from the verdict cache.
+     * The parsed schema instance identifies the registry schema, the schema resolver keeps a single instance per globalId.
+     * When value validation is enabled, messages of a compatible type are then checked with {@link #validateValues(Message)}.
+     */
+    protected ProtobufValidationResult validate(ParsedSchema<ProtobufSchema> schema, Record<Message> record) {
+        if (schema.getParsedSchema() == null) {
+            return missingSchema();
+        }
+        VerdictKey key = new VerdictKey(schema.getParsedSchema(), record.payload().getDescriptorForType());
+        ProtobufValidationResult verdict = verdictCache.computeIfAbsent(key, k -> computeVerdict(schema, record));
+        if (valueValidation && verdict.success()) {
+            return validateValues(record.payload());
         }
+        return verdict;
+    }
 
-        List<TypeElement> normalizedNestedTypes = msg.getNestedTypes().stream()
-                .map(type -> type instanceof MessageElement
-                        ? normalizeMessage((MessageElement) type, packageName)
-                        : type)
-                .collect(Collectors.toList());
+    /**
+     * Validates the field values of the provided message: proto2 required fields must be set, enum fields must hold
+     * numbers declared by their enum type and the message must not carry unknown fields.
+     * The checks are compiled once per message type into a {@link ProtobufValuePlan}.
+     */
+    protected ProtobufValidationResult validateValues(Message message) {
+        return valuePlans.computeIfAbsent(message.getDescriptorForType(), ProtobufValuePlan::compile)
+                .validate(message, maxErrors);
+    }
 
-        return new MessageElement(msg.getLocation(), msg.getName(), msg.getDocumentation(),
-                normalizedNestedTypes, msg.getOptions(), msg.getReserveds(), normalizedFields,
-                normalizedOneOfs, msg.getExtensions(), msg.getGroups(), msg.getExtendDeclarations());
+    protected ProtobufValidationResult validate(ParsedSchema<ProtobufSchema> schema, ByteBuffer payload) {
+        return validate(schema, null, payload);
     }
 
-    private FieldElement normalizeFieldElement(FieldElement field, String packageName) {
-        String type = normalizeTypeName(field.getType(), packageName);
-        if (type.equals(field.getType())) {
-            return field;
+    protected ProtobufValidationResult validate(ParsedSchema<ProtobufSchema> schema, String messageType,
+            ByteBuffer payload) {
+        if (schema.getParsedSchema() == null) {
+            return missingSchema();
         }
-        return new FieldElement(field.getLocation(), field.getLabel(), type,
-                field.getName(), field.getDefaultValue(), field.getJsonName(),
-                field.getTag(), field.getDocumentation(), field.getOptions());
+        ProtobufMessageIndex index = messageIndex(schema.getParsedSchema());
+        Descriptors.Descriptor descriptor = messageType == null ? index.firstMessageType()
+                : index.findMessageType(messageType);
+        if (descriptor == null) {
+            return ProtobufValidationResult.fromErrors(List.of(new ValidationError(
+                    "Missing message type " + (messageType == null ? "" : messageType + " ")
+                            + "in the protobuf schema", "")));
+        }
+        return ProtobufWireValidator.validate(descriptor, CodedInputStream.newInstance(payload), maxErrors);
     }
 
-    private String normalizeTypeName(String type, String packageName) {
-        if (type == null || !type.startsWith(".")) {
-            return type;
+    private static ProtobufValidationResult missingSchema() {
+        return ProtobufValidationResult.fromErrors(List.of(new ValidationError("Missing protobuf schema", "")));
+    }
+
+    private ProtobufMessageIndex messageIndex(ProtobufSchema schema) {
+        return messageIndexes.computeIfAbsent(schema.getFileDescriptor(), ProtobufMessageIndex::of);
+    }
+
+    private ProtobufValidationResult computeVerdict(ParsedSchema<ProtobufSchema> schema, Record<Message> record) {
+        Descriptors.Descriptor messageType = record.payload().getDescriptorForType();
+        // like the registry artifact, records are only matched against the types declared by the schema file itself
+        Descriptors.Descriptor schemaType = messageIndex(schema.getParsedSchema())
+                .findDeclaredMessageType(messageType.getFullName());
+        if (schemaType == null) {
+            return ProtobufValidationResult.fromErrors(List.of(new ValidationError(
+                    "Missing message type " + messageType.getFullName() + " in the protobuf schema", "")));
         }
-        // Strip leading dot and package prefix for same-package types
-        // e.g., ".io.apicurio.schema.validation.protobuf.ref.Address" -> "Address"
-        if (packageName != null) {
-            String prefix = "." + packageName + ".";
-            if (type.startsWith(prefix)) {
-                return type.substring(prefix.length());
-            }
+
+        List<ValidationError> differences = ProtobufDescriptorDiff.findDifferences(schemaType, messageType, maxErrors);
+        if (!differences.isEmpty()) {
+            return ProtobufValidationResult.fromErrors(differences);
         }
-        // For other packages, strip just the leading dot
-        // e.g., ".other.package.Type" -> "other.package.Type"
-        return type.substring(1);
+
+        return ProtobufValidationResult.SUCCESS;
     }
 
     private String extractErrorMessage(Exception e) {
@@ -227,4 +507,35 @@ public class ProtobufValidator {
         }
         return throwable.getMessage();
     }
+
+    /**
+     * Identity based key, both the parsed schema and the message descriptor are long lived and shared instances.
+     */
+    private static final class VerdictKey {
+
+        private final ProtobufSchema schema;
+        private final Descriptors.Descriptor descriptor;
+
+        private VerdictKey(ProtobufSchema schema, Descriptors.Descriptor descriptor) {
+            this.schema = schema;
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof VerdictKey)) {
+                return false;
+            }
+            VerdictKey other = (VerdictKey) o;
+            return schema == other.schema && descriptor == other.descriptor;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(schema) + System.identityHashCode(descriptor);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.protobuf;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Configuration properties for {@link ProtobufValidator}.
+ * These properties are read from the same configuration map that is used to configure the schema resolver.
+ */
+public class ProtobufValidatorConfig {
+
+    /**
+     * Maximum number of compatibility verdicts, one per (registry schema, message type) pair, kept in memory.
+     * A value of 0 disables the cache, the message type is then compared with the schema for every validation.
+     */
+    public static final String VERDICT_CACHE_SIZE = "apicurio.validation.protobuf.verdict-cache-size";
+    public static final int VERDICT_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Maximum number of value validation plans, one per message type, kept in memory, see {@link #VALUE_VALIDATION}.
+     * A value of 0 disables the cache.
+     */
+    public static final String VALUE_PLAN_CACHE_SIZE = "apicurio.validation.protobuf.value-plan-cache-size";
+    public static final int VALUE_PLAN_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Maximum number of indexes of the message types of a registry schema by full name, one per schema file, kept in
+     * memory. A value of 0 disables the cache, the index is then built for every validation.
+     */
+    public static final String MESSAGE_INDEX_CACHE_SIZE = "apicurio.validation.protobuf.message-index-cache-size";
+    public static final int MESSAGE_INDEX_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Enables value level validation of messages: proto2 required fields, enum numbers and unknown fields are checked
+     * after the schema of the message has been verified.
+     */
+    public static final String VALUE_VALIDATION = "apicurio.validation.protobuf.value-validation";
+    public static final boolean VALUE_VALIDATION_DEFAULT = false;
+
+    /**
+     * Time in milliseconds a schema resolved for an artifact is used without asking the schema resolver again.
+     * Asynchronous validations of records whose schema is cached complete without switching threads. Defaults to 5
+     * seconds, a value of 0 disables the cache and every asynchronous validation then resolves its schema on another thread.
+     * This cache sits in front of the schema resolver cache: a record referencing the latest version of an artifact may
+     * be validated with the previous version for up to the resolver refresh period, {@code apicurio.registry.check-period-ms},
+     * plus this time. Lower it, or set it to 0, when a new version must be picked up as soon as the resolver sees it. The schemas of {@link #SNAPSHOT_DIR} and of the warm-up do not depend on this setting, they are kept
+     * until the artifact is warmed up again.
+     */
+    public static final String SCHEMA_CACHE_TTL_MS = "apicurio.validation.protobuf.schema-cache-ttl-ms";
+    public static final long SCHEMA_CACHE_TTL_MS_DEFAULT = 5000;
+
+    /**
+     * Maximum number of artifacts whose resolved schema is kept in memory, see {@link #SCHEMA_CACHE_TTL_MS}.
+     */
+    public static final String SCHEMA_CACHE_SIZE = "apicurio.validation.protobuf.schema-cache-size";
+    public static final int SCHEMA_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Time in milliseconds a failed schema resolution is reported for the artifact without asking the schema resolver
+     * again, so that records of a missing artifact do not turn into a flood of registry requests. A value of 0 disables
+     * the cache of failures.
+     */
+    public static final String NEGATIVE_CACHE_TTL_MS = "apicurio.validation.protobuf.negative-cache-ttl-ms";
+    public static final long NEGATIVE_CACHE_TTL_MS_DEFAULT = 5000;
+
+    /**
+     * Maximum number of artifacts whose failed resolution is kept in memory, see {@link #NEGATIVE_CACHE_TTL_MS}.
+     */
+    public static final String NEGATIVE_CACHE_SIZE = "apicurio.validation.protobuf.negative-cache-size";
+    public static final int NEGATIVE_CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Directory keeping a local copy of the schemas resolved by {@link ProtobufValidator#warmUp(java.util.Collection)}.
+     * The schemas of the directory are loaded when the validator is created, before the registry is contacted, and are
+     * refreshed from the registry in the background. Not set by default.
+     */
+    public static final String SNAPSHOT_DIR = "apicurio.validation.protobuf.snapshot-dir";
+
+    /**
+     * Maximum number of errors reported by a validation, the validation stops as soon as it is reached.
+     * A value of 0 reports every error.
+     */
+    public static final String MAX_ERRORS = "apicurio.validation.protobuf.max-errors";
+    public static final int MAX_ERRORS_DEFAULT = 0;
+
+    /**
+     * Stops the validation at the first error, same as setting {@link #MAX_ERRORS} to 1.
+     */
+    public static final String FAIL_FAST = "apicurio.validation.protobuf.fail-fast";
+    public static final boolean FAIL_FAST_DEFAULT = false;
+
+    private final Map<String, ?> originals;
+
+    public ProtobufValidatorConfig(Map<String, ?> originals) {
+        this.originals = originals == null ? Map.of() : originals;
+    }
+
+    public int getVerdictCacheSize() {
+        return getInt(VERDICT_CACHE_SIZE, VERDICT_CACHE_SIZE_DEFAULT);
+    }
+
+    public int getValuePlanCacheSize() {
+        return getInt(VALUE_PLAN_CACHE_SIZE, VALUE_PLAN_CACHE_SIZE_DEFAULT);
+    }
+
+    public int getMessageIndexCacheSize() {
+        return getInt(MESSAGE_INDEX_CACHE_SIZE, MESSAGE_INDEX_CACHE_SIZE_DEFAULT);
+    }
+
+    public boolean isValueValidation() {
+        return getBoolean(VALUE_VALIDATION, VALUE_VALIDATION_DEFAULT);
+    }
+
+    public long getSchemaCacheTtlMs() {
+        return Math.max(0, getLong(SCHEMA_CACHE_TTL_MS, SCHEMA_CACHE_TTL_MS_DEFAULT));
+    }
+
+    public int getSchemaCacheSize() {
+        return getInt(SCHEMA_CACHE_SIZE, SCHEMA_CACHE_SIZE_DEFAULT);
+    }
+
+    public long getNegativeCacheTtlMs() {
+        return Math.max(0, getLong(NEGATIVE_CACHE_TTL_MS, NEGATIVE_CACHE_TTL_MS_DEFAULT));
+    }
+
+    public int getNegativeCacheSize() {
+        return getInt(NEGATIVE_CACHE_SIZE, NEGATIVE_CACHE_SIZE_DEFAULT);
+    }
+
+    /**
+     * @return the snapshot directory, or null if schemas are not kept locally
+     */
+    public Path getSnapshotDir() {
+        Object value = originals.get(SNAPSHOT_DIR);
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        return value instanceof Path ? (Path) value : Path.of(value.toString().trim());
+    }
+
+    /**
+     * @return the maximum number of errors to report, 0 if every error is reported
+     */
+    public int getMaxErrors() {
+        if (getBoolean(FAIL_FAST, FAIL_FAST_DEFAULT)) {
+            return 1;
+        }
+        return Math.max(0, getInt(MAX_ERRORS, MAX_ERRORS_DEFAULT));
+    }
+
+    private boolean getBoolean(String key, boolean defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    private long getLong(String key, long defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    private int getInt(String key, int defaultValue) {
+        Object value = originals.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+}
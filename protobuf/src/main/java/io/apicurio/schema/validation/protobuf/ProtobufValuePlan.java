@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.protobuf;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value level validation plan for a message type, compiled once per {@link Descriptors.Descriptor}.
+ * The plan is a flat list of the fields that need to be looked at: proto2 required fields that must be set, enum fields
+ * whose numbers must be known and message fields to descend into. Every message is also checked for unknown fields.
+ * Executing the plan only uses direct field accessors, no map of all the fields is built.
+ */
+final class ProtobufValuePlan {
+
+    private final Descriptors.Descriptor descriptor;
+    private Descriptors.FieldDescriptor[] requiredFields;
+    private Descriptors.FieldDescriptor[] enumFields;
+    private Descriptors.FieldDescriptor[] messageFields;
+    private ProtobufValuePlan[] messagePlans;
+
+    private ProtobufValuePlan(Descriptors.Descriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    static ProtobufValuePlan compile(Descriptors.Descriptor descriptor) {
+        return compile(descriptor, new IdentityHashMap<>());
+    }
+
+    private static ProtobufValuePlan compile(Descriptors.Descriptor descriptor,
+            Map<Descriptors.Descriptor, ProtobufValuePlan> compiled) {
+        ProtobufValuePlan plan = compiled.get(descriptor);
+        if (plan != null) {
+            // recursive message types reuse the plan being compiled
+            return plan;
+        }
+        plan = new ProtobufValuePlan(descriptor);
+        compiled.put(descriptor, plan);
+
+        List<Descriptors.FieldDescriptor> required = new ArrayList<>();
+        List<Descriptors.FieldDescriptor> enums = new ArrayList<>();
+        List<Descriptors.FieldDescriptor> messages = new ArrayList<>();
+        List<ProtobufValuePlan> plans = new ArrayList<>();
+        for (Descriptors.FieldDescriptor field : descriptor.getFields()) {
+            if (field.isRequired()) {
+                required.add(field);
+            }
+            if (field.getJavaType() == Descriptors.FieldDescriptor.JavaType.ENUM) {
+                enums.add(field);
+            } else if (field.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE) {
+                messages.add(field);
+                plans.add(compile(field.getMessageType(), compiled));
+            }
+        }
+        plan.requiredFields = required.toArray(new Descriptors.FieldDescriptor[0]);
+        plan.enumFields = enums.toArray(new Descriptors.FieldDescriptor[0]);
+        plan.messageFields = messages.toArray(new Descriptors.FieldDescriptor[0]);
+        plan.messagePlans = plans.toArray(new ProtobufValuePlan[0]);
+        return plan;
+    }
+
+    /**
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    ProtobufValidationResult validate(Message message, int maxErrors) {
+        List<ValidationError> errors = new ArrayList<>(0);
+        try {
+            validate(message, errors, maxErrors);
+        } catch (ErrorLimitReached e) {
+            // enough errors found
+        }
+        if (!errors.isEmpty()) {
+            return ProtobufValidationResult.fromErrors(errors);
+        }
+        return ProtobufValidationResult.SUCCESS;
+    }
+
+    private void validate(Message message, List<ValidationError> errors, int maxErrors) {
+        if (message.getDescriptorForType() != descriptor) {
+            error(errors, maxErrors, "Expected message of type " + descriptor.getFullName() + " but got "
+                    + message.getDescriptorForType().getFullName(), descriptor.getFullName());
+            return;
+        }
+
+        for (Descriptors.FieldDescriptor field : requiredFields) {
+            if (!message.hasField(field)) {
+                error(errors, maxErrors, "Missing required field: " + field.getName(), field.getFullName());
+            }
+        }
+
+        for (Descriptors.FieldDescriptor field : enumFields) {
+            if (field.isRepeated()) {
+                int count = message.getRepeatedFieldCount(field);
+                for (int i = 0; i < count; i++) {
+                    validateEnumValue(field, message.getRepeatedField(field, i), errors, maxErrors);
+                }
+            } else if (message.hasField(field)) {
+                validateEnumValue(field, message.getField(field), errors, maxErrors);
+            }
+        }
+
+        for (int f = 0; f < messageFields.length; f++) {
+            Descriptors.FieldDescriptor field = messageFields[f];
+            ProtobufValuePlan plan = messagePlans[f];
+            if (field.isRepeated()) {
+                int count = message.getRepeatedFieldCount(field);
+                for (int i = 0; i < count; i++) {
+                    plan.validate((Message) message.getRepeatedField(field, i), errors, maxErrors);
+                }
+            } else if (message.hasField(field)) {
+                plan.validate((Message) message.getField(field), errors, maxErrors);
+            }
+        }
+
+        if (message.getUnknownFields().getSerializedSize() != 0) {
+            error(errors, maxErrors, "Unknown fields " + message.getUnknownFields().asMap().keySet()
+                    + " in message " + descriptor.getFullName(), descriptor.getFullName());
+        }
+    }
+
+    private static void validateEnumValue(Descriptors.FieldDescriptor field, Object value,
+            List<ValidationError> errors, int maxErrors) {
+        // open enums keep unrecognized numbers as value descriptors that do not belong to the enum type
+        Descriptors.EnumValueDescriptor enumValue = (Descriptors.EnumValueDescriptor) value;
+        if (enumValue.getIndex() < 0 || field.getEnumType().findValueByNumber(enumValue.getNumber()) == null) {
+            error(errors, maxErrors, "Invalid enum number " + enumValue.getNumber() + " for enum "
+                    + field.getEnumType().getFullName(), field.getFullName());
+        }
+    }
+
+    private static void error(List<ValidationError> errors, int maxErrors, String description, String context) {
+        errors.add(new ValidationError(description, context));
+        ErrorLimitReached.check(errors.size(), maxErrors);
+    }
+}
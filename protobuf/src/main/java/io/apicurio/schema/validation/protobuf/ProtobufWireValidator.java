@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.schema.validation.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates Protobuf wire format bytes against a message {@link Descriptors.Descriptor} without materializing a message.
+ * The payload is walked with a {@link CodedInputStream}, checking field numbers, wire types, nested messages, groups and
+ * enum numbers, while values are skipped over.
+ */
+final class ProtobufWireValidator {
+
+    private static final int RECURSION_LIMIT = 100;
+
+    private final int maxErrors;
+    private List<ValidationError> errors;
+
+    private ProtobufWireValidator(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param maxErrors , the validation stops once this number of errors has been found, 0 for no limit
+     */
+    static ProtobufValidationResult validate(Descriptors.Descriptor descriptor, CodedInputStream input, int maxErrors) {
+        ProtobufWireValidator validator = new ProtobufWireValidator(maxErrors);
+        try {
+            validator.validateMessage(descriptor, input, -1, 0);
+        } catch (IOException e) {
+            validator.errors = validator.errors == null ? new ArrayList<>() : validator.errors;
+            validator.errors.add(new ValidationError("Malformed protobuf payload: " + e.getMessage(),
+                    descriptor.getFullName()));
+        } catch (ErrorLimitReached e) {
+            // the rest of the payload is not read
+        }
+        if (validator.errors != null) {
+            return ProtobufValidationResult.fromErrors(validator.errors);
+        }
+        return ProtobufValidationResult.SUCCESS;
+    }
+
+    /**
+     * Reads fields until the end of the current limit, or until the end group tag when validating a group.
+     */
+    private void validateMessage(Descriptors.Descriptor descriptor, CodedInputStream input, int groupNumber, int depth)
+            throws IOException {
+        if (depth > RECURSION_LIMIT) {
+            throw new IOException("Protobuf message has too many levels of nesting");
+        }
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) {
+                if (groupNumber != -1) {
+                    error("Missing end of group " + groupNumber, descriptor.getFullName());
+                }
+                return;
+            }
+            int wireType = WireFormat.getTagWireType(tag);
+            int number = WireFormat.getTagFieldNumber(tag);
+            if (wireType == WireFormat.WIRETYPE_END_GROUP) {
+                if (number != groupNumber) {
+                    error("Unexpected end of group " + number, descriptor.getFullName());
+                }
+                return;
+            }
+
+            Descriptors.FieldDescriptor field = descriptor.findFieldByNumber(number);
+            if (field == null) {
+                if (!descriptor.isExtensionNumber(number)) {
+                    error("Unknown field number " + number, descriptor.getFullName());
+                }
+                input.skipField(tag);
+            } else if (wireType == field.getLiteType().getWireType()) {
+                validateValue(field, input, depth);
+            } else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field.isPackable()) {
+                validatePacked(field, input, depth);
+            } else {
+                error("Wire type " + wireType + " does not match field type " + field.getType(), field.getFullName());
+                input.skipField(tag);
+            }
+        }
+    }
+
+    private void validatePacked(Descriptors.FieldDescriptor field, CodedInputStream input, int depth)
+            throws IOException {
+        int oldLimit = input.pushLimit(input.readRawVarint32());
+        while (input.getBytesUntilLimit() > 0) {
+            validateValue(field, input, depth);
+        }
+        input.popLimit(oldLimit);
+    }
+
+    private void validateValue(Descriptors.FieldDescriptor field, CodedInputStream input, int depth)
+            throws IOException {
+        switch (field.getType()) {
+            case DOUBLE:
+            case FIXED64:
+            case SFIXED64:
+                input.readRawLittleEndian64();
+                break;
+            case FLOAT:
+            case FIXED32:
+            case SFIXED32:
+                input.readRawLittleEndian32();
+                break;
+            case INT32:
+            case INT64:
+            case UINT32:
+            case UINT64:
+            case SINT32:
+            case SINT64:
+            case BOOL:
+                input.readRawVarint64();
+                break;
+            case STRING:
+            case BYTES:
+                input.skipRawBytes(input.readRawVarint32());
+                break;
+            case ENUM:
+                int number = input.readEnum();
+                if (field.getEnumType().findValueByNumber(number) == null) {
+                    error("Invalid enum number " + number + " for enum " + field.getEnumType().getFullName(),
+                            field.getFullName());
+                }
+                break;
+            case MESSAGE:
+                int oldLimit = input.pushLimit(input.readRawVarint32());
+                validateMessage(field.getMessageType(), input, -1, depth + 1);
+                input.popLimit(oldLimit);
+                break;
+            case GROUP:
+                validateMessage(field.getMessageType(), input, field.getNumber(), depth + 1);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported field type " + field.getType());
+        }
+    }
+
+    private void error(String description, String context) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.add(new ValidationError(description, context));
+        ErrorLimitReached.check(errors.size(), maxErrors);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.protobuf;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Schemas resolved for an artifact, kept for a limited time in front of the schema resolver.
+ * The schema resolver has its own cache but it does not tell whether a lookup will contact the registry, this one allows
+ * to use a schema without blocking when it has been resolved recently. Concurrent misses for the same artifact share a
+ * single resolution. Failed resolutions are kept as well, for a shorter time, as the result reported for the artifact.
+ * Schemas loaded from a snapshot or resolved by a warm-up are pinned: they do not expire and do not depend on the time
+ * to live, they are only replaced when the artifact is warmed up again.
+ *
+ * @param <S> the resolved schema
+ * @param <F> the result reported when the schema cannot be resolved
+ */
+final class SchemaLookup<S, F> {
+
+    private final BoundedCache<ArtifactKey, Expiring<S>> schemas;
+    private final long ttlNanos;
+    private final BoundedCache<ArtifactKey, Expiring<F>> failures;
+    private final long failureTtlNanos;
+    private final ConcurrentHashMap<ArtifactKey, CompletableFuture<S>> resolutions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ArtifactKey, S> pinned = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttlMillis        , time a resolved schema is kept, 0 disables the cache
+     * @param failureTtlMillis , time a failed resolution is kept, 0 disables the cache of failures
+     */
+    SchemaLookup(int maxSize, long ttlMillis, int maxFailures, long failureTtlMillis) {
+        this.schemas = new BoundedCache<>(ttlMillis > 0 ? maxSize : 0);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.failures = new BoundedCache<>(failureTtlMillis > 0 ? maxFailures : 0);
+        this.failureTtlNanos = TimeUnit.MILLISECONDS.toNanos(failureTtlMillis);
+    }
+
+    /**
+     * @return the schema resolved recently for the artifact, or null if the schema needs to be resolved
+     */
+    S cached(ArtifactKey key) {
+        if (key == null) {
+            return null;
+        }
+        S schema = pinned.get(key);
+        return schema != null ? schema : get(schemas, key);
+    }
+
+    /**
+     * @return the result of a recent failed resolution of the artifact, or null if the resolution may be attempted
+     */
+    F failure(ArtifactKey key) {
+        return get(failures, key);
+    }
+
+    /**
+     * @param key      , the artifact of the schema, null if it is not known before resolving the schema
+     * @param resolver , resolves the schema when it is not cached, exceptions are propagated to the caller
+     */
+    S resolve(ArtifactKey key, Supplier<S> resolver) {
+        S schema = cached(key);
+        if (schema != null) {
+            return schema;
+        }
+        if (key == null) {
+            return resolver.get();
+        }
+        // concurrent misses for the same artifact wait for the first one instead of resolving the schema again
+        CompletableFuture<S> resolution = new CompletableFuture<>();
+        CompletableFuture<S> inFlight = resolutions.putIfAbsent(key, resolution);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            // a resolution may have completed between the cache lookup and the registration of this one
+            schema = cached(key);
+            if (schema == null) {
+                schema = resolver.get();
+                if (schema != null) {
+                    put(key, schema);
+                }
+            }
+            resolution.complete(schema);
+            return schema;
+        } catch (RuntimeException | Error e) {
+            resolution.completeExceptionally(e);
+            throw e;
+        } finally {
+            resolutions.remove(key, resolution);
+        }
+    }
+
+    /**
+     * Stores a schema resolved, or loaded, outside of {@link #resolve(ArtifactKey, Supplier)}.
+     */
+    void put(ArtifactKey key, S schema) {
+        schemas.put(key, new Expiring<>(schema, System.nanoTime() + ttlNanos));
+        clearFailure(key);
+    }
+
+    /**
+     * Stores a schema loaded from a snapshot or resolved by a warm-up, it is kept until the artifact is pinned again.
+     */
+    void pin(ArtifactKey key, S schema) {
+        pinned.put(key, schema);
+        clearFailure(key);
+    }
+
+    private void clearFailure(ArtifactKey key) {
+        Expiring<F> failure = failures.get(key);
+        if (failure != null) {
+            failures.remove(key, failure);
+        }
+    }
+
+    /**
+     * Records a failed resolution of the artifact. The result is built once, callers that failed on the same resolution
+     * get the result stored by the first of them.
+     *
+     * @return the result to report for the failure
+     */
+    F fail(ArtifactKey key, Exception e, Function<Exception, F> result) {
+        if (key == null) {
+            return result.apply(e);
+        }
+        F failure = failure(key);
+        if (failure == null) {
+            failure = result.apply(e);
+            failures.put(key, new Expiring<>(failure, System.nanoTime() + failureTtlNanos));
+        }
+        return failure;
+    }
+
+    private static <V> V get(BoundedCache<ArtifactKey, Expiring<V>> cache, ArtifactKey key) {
+        if (key == null) {
+            return null;
+        }
+        Expiring<V> entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private static <S> S await(CompletableFuture<S> resolution) {
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            // waiters get the failure of the resolution they waited for
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private record Expiring<V>(V value, long expiresAt) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.schema.validation.protobuf;
+
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.ParsedSchemaImpl;
+import io.apicurio.registry.resolver.SchemaParser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local copy of the raw schemas resolved for artifacts, used to validate records right after a restart without waiting
+ * for the registry. Each artifact is stored in its own file holding the artifact key, the raw schema and, recursively,
+ * the raw schemas it references. Schemas are parsed again with the schema parser when the snapshot is loaded.
+ */
+final class SchemaSnapshot {
+
+    private static final System.Logger LOGGER = System.getLogger(SchemaSnapshot.class.getName());
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".schema";
+
+    private SchemaSnapshot() {
+    }
+
+    /**
+     * Stores the raw schema of the artifact, replacing the previous snapshot of the same artifact.
+     */
+    static void write(Path directory, ArtifactKey key, ParsedSchema<?> schema) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(key));
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, key.groupId());
+                writeString(out, key.artifactId());
+                writeString(out, key.version());
+                writeLong(out, key.globalId());
+                writeLong(out, key.contentId());
+                writeString(out, key.contentHash());
+                writeSchema(out, schema);
+            }
+            // readers never see a partially written snapshot
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Loads and parses every schema of the snapshot directory, files that cannot be read or parsed are logged and skipped.
+     *
+     * @return the schemas by artifact, empty if the directory does not exist
+     */
+    static <S> Map<ArtifactKey, ParsedSchema<S>> read(Path directory, SchemaParser<S, ?> parser) {
+        Map<ArtifactKey, ParsedSchema<S>> schemas = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            if (Files.exists(directory)) {
+                LOGGER.log(System.Logger.Level.WARNING, "Schema snapshot {0} is not a directory, no schema loaded", directory);
+            }
+            return schemas;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    int version = in.readInt();
+                    if (version != FORMAT_VERSION) {
+                        LOGGER.log(System.Logger.Level.WARNING, "Skipping schema snapshot {0}, unsupported format version {1}",
+                                file, version);
+                        continue;
+                    }
+                    ArtifactKey key = new ArtifactKey(readString(in), readString(in), readString(in), readLong(in),
+                            readLong(in), readString(in));
+                    schemas.put(key, readSchema(in, parser, Files.size(file)));
+                } catch (IOException | RuntimeException e) {
+                    // a stale or corrupt snapshot only means that the schema is fetched from the registry
+                    LOGGER.log(System.Logger.Level.WARNING, "Skipping unreadable schema snapshot " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            // same as an empty snapshot
+            LOGGER.log(System.Logger.Level.WARNING, "Failed to list the schema snapshot directory " + directory, e);
+        }
+        return schemas;
+    }
+
+    private static void writeSchema(DataOutputStream out, ParsedSchema<?> schema) throws IOException {
+        writeString(out, schema.referenceName());
+        byte[] rawSchema = schema.getRawSchema();
+        out.writeInt(rawSchema.length);
+        out.write(rawSchema);
+        List<? extends ParsedSchema<?>> references = schema.hasReferences() ? schema.getSchemaReferences() : List.of();
+        out.writeInt(references.size());
+        for (ParsedSchema<?> reference : references) {
+            writeSchema(out, reference);
+        }
+    }
+
+    /**
+     * @param size , the size of the snapshot file, lengths read from the file are checked against it before allocating
+     */
+    private static <S> ParsedSchema<S> readSchema(DataInputStream in, SchemaParser<S, ?> parser, long size) throws IOException {
+        String referenceName = readString(in);
+        byte[] rawSchema = new byte[checkLength(in.readInt(), size)];
+        in.readFully(rawSchema);
+        int count = checkLength(in.readInt(), size);
+        List<ParsedSchema<S>> references = new ArrayList<>(count);
+        Map<String, ParsedSchema<S>> resolvedReferences = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            ParsedSchema<S> reference = readSchema(in, parser, size);
+            references.add(reference);
+            resolvedReferences.put(reference.referenceName(), reference);
+        }
+        return new ParsedSchemaImpl<S>()
+                .setParsedSchema(parser.parseSchema(rawSchema, resolvedReferences))
+                .setRawSchema(rawSchema)
+                .setReferenceName(referenceName)
+                .setSchemaReferences(references);
+    }
+
+    private static int checkLength(int length, long size) throws IOException {
+        if (length < 0 || length > size) {
+            throw new IOException("Invalid length " + length + " in a snapshot file of " + size + " bytes");
+        }
+        return length;
+    }
+
+    private static String fileName(ArtifactKey key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash) + EXTENSION;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
@@ -1,8 +1,12 @@
 package io.apicurio.schema.validation.protobuf;
 
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.ParsedSchemaImpl;
 import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufSchema;
 import io.apicurio.schema.validation.protobuf.ref.MessageExample2OuterClass.MessageExample2;
@@ -11,12 +15,26 @@ import io.apicurio.schema.validation.protobuf.ref.AddressOuterClass.Address;
 import io.apicurio.schema.validation.protobuf.ref.PersonWithAddressOuterClass.PersonWithAddress;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -142,6 +160,520 @@ public class ProtobufValidatorTest {
         assertNotNull(result.getValidationErrors());
     }
 
+    @Test
+    public void testChangedFieldsAreReported() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ProtobufSchemaParser<MessageExample> protobufSchemaParser = new ProtobufSchemaParser<>();
+
+        // value changed from string to int32 and description was removed without reservation
+        final byte[] schemaBytes = readResource("message_example_changed.proto");
+        final ProtobufSchema protobufSchema = protobufSchemaParser.parseSchema(schemaBytes, Collections.emptyMap());
+        ParsedSchemaImpl<ProtobufSchema> ps = new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(
+                protobufSchema).setRawSchema(schemaBytes);
+
+        MessageExample messageExample = MessageExample.newBuilder()
+                .setKey("key")
+                .setValue("value").build();
+
+        final ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(messageExample, null));
+
+        assertFalse(result.success());
+        assertEquals(2, result.getValidationErrors().size());
+    }
+
+    @Test
+    public void testSchemaFromDataIsMemoized() {
+        ProtobufSchemaParser<Message> parser = new ProtobufSchemaParser<>();
+
+        Address address = Address.newBuilder().setStreet("123 Main St").setCity("Springfield").build();
+        PersonWithAddress person = PersonWithAddress.newBuilder().setName("John Doe").setAddress(address).build();
+
+        ParsedSchema<ProtobufSchema> personSchema = parser.getSchemaFromData(new ProtobufRecord(person, null));
+        ParsedSchema<ProtobufSchema> addressSchema = parser.getSchemaFromData(new ProtobufRecord(address, null));
+
+        assertSame(personSchema, parser.getSchemaFromData(new ProtobufRecord(person, null)));
+        assertEquals(1, personSchema.getSchemaReferences().size());
+        assertSame(addressSchema, personSchema.getSchemaReferences().get(0));
+    }
+
+    @Test
+    public void testVerdictIsCachedPerMessageType() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        MessageExample2 first = MessageExample2.newBuilder().setKey2("first").setValue2(1).build();
+        MessageExample2 second = MessageExample2.newBuilder().setKey2("second").setValue2(2).build();
+
+        final ProtobufValidationResult firstResult = validator.validate(ps, new ProtobufRecord(first, null));
+        final ProtobufValidationResult secondResult = validator.validate(ps, new ProtobufRecord(second, null));
+
+        assertFalse(firstResult.success());
+        assertSame(firstResult, secondResult);
+    }
+
+    @Test
+    public void testVerdictCacheDisabled() {
+        ProtobufValidator validator = new ProtobufValidator(new ProtobufValidatorConfig(
+                Map.of(ProtobufValidatorConfig.VERDICT_CACHE_SIZE, 0)));
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        MessageExample2 message = MessageExample2.newBuilder().setKey2("key").setValue2(1).build();
+
+        final ProtobufValidationResult firstResult = validator.validate(ps, new ProtobufRecord(message, null));
+        final ProtobufValidationResult secondResult = validator.validate(ps, new ProtobufRecord(message, null));
+
+        assertFalse(firstResult.success());
+        assertFalse(secondResult.success());
+        assertNotSame(firstResult, secondResult);
+    }
+
+    @Test
+    public void testValidWirePayload() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        ByteBuffer payload = ByteBuffer.wrap(MessageExample.newBuilder()
+                .setKey("testValidMessageKey")
+                .setValue("testValidMessageValue").build().toByteArray());
+
+        final ProtobufValidationResult result = validator.validate(ps, payload);
+
+        assertTrue(result.success());
+        assertEquals(0, payload.position());
+    }
+
+    @Test
+    public void testInvalidWirePayload() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        // value2 is a varint while the schema declares value as a string
+        byte[] payload = MessageExample2.newBuilder().setKey2("key").setValue2(42).build().toByteArray();
+
+        final ProtobufValidationResult result = validator.validate(ps, ByteBuffer.wrap(payload));
+
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+    }
+
+    @Test
+    public void testTruncatedWirePayload() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        byte[] payload = MessageExample.newBuilder().setKey("key").setValue("value").build().toByteArray();
+
+        final ProtobufValidationResult result = validator.validate(ps,
+                ByteBuffer.wrap(payload, 0, payload.length - 2));
+
+        assertFalse(result.success());
+        assertNotNull(result.getValidationErrors());
+    }
+
+    @Test
+    public void testValueValidationReportsUnknownFields() throws Exception {
+        ProtobufValidator validator = new ProtobufValidator(new ProtobufValidatorConfig(
+                Map.of(ProtobufValidatorConfig.VALUE_VALIDATION, true)));
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        // value2 is encoded as a varint, so it cannot be read as the value string and is kept as an unknown field
+        byte[] payload = MessageExample2.newBuilder().setKey2("key").setValue2(42).build().toByteArray();
+        MessageExample messageExample = MessageExample.parseFrom(payload);
+
+        final ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(messageExample, null));
+
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+
+        MessageExample validMessage = MessageExample.newBuilder().setKey("key").setValue("value").build();
+        assertTrue(validator.validate(ps, new ProtobufRecord(validMessage, null)).success());
+    }
+
+    @Test
+    public void testNestedMessageType() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ProtobufSchemaParser<Message> protobufSchemaParser = new ProtobufSchemaParser<>();
+        final byte[] schemaBytes = readResource("envelope.proto");
+        final ProtobufSchema protobufSchema = protobufSchemaParser.parseSchema(schemaBytes, Collections.emptyMap());
+        ParsedSchemaImpl<ProtobufSchema> ps = new ParsedSchemaImpl<ProtobufSchema>()
+                .setParsedSchema(protobufSchema)
+                .setRawSchema(schemaBytes);
+
+        Descriptors.Descriptor headerType = protobufSchema.getFileDescriptor()
+                .findMessageTypeByName("Envelope").findNestedTypeByName("Header");
+        DynamicMessage header = DynamicMessage.newBuilder(headerType)
+                .setField(headerType.findFieldByName("id"), "id-1")
+                .build();
+
+        final ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(header, null));
+
+        assertTrue(result.success());
+    }
+
+    @Test
+    public void testImportedMessageType() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parsePersonWithAddressSchema();
+
+        Address address = Address.newBuilder().setStreet("123 Main St").setCity("Springfield").build();
+
+        // a record is only matched against the types declared by the artifact, not the types it imports
+        ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(address, null));
+        assertFalse(result.success());
+        assertEquals("Missing message type io.apicurio.schema.validation.protobuf.ref.Address in the protobuf schema",
+                result.getValidationErrors().get(0).getDescription());
+
+        // a wire payload may name an imported type explicitly
+        assertTrue(validator.validate(ps, "io.apicurio.schema.validation.protobuf.ref.Address",
+                ByteBuffer.wrap(address.toByteArray())).success());
+
+        // without a message type the payload is validated against PersonWithAddress, where field 2 is a message
+        assertFalse(validator.validate(ps, ByteBuffer.wrap(address.toByteArray())).success());
+    }
+
+    @Test
+    public void testUnknownWireMessageType() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+
+        final ProtobufValidationResult result = validator.validate(ps, "io.apicurio.schema.validation.protobuf.ref.Missing",
+                ByteBuffer.wrap(new byte[0]));
+
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+    }
+
+    @Test
+    public void testMissingSchema() {
+        ProtobufValidator validator = new ProtobufValidator();
+        ParsedSchemaImpl<ProtobufSchema> ps = new ParsedSchemaImpl<>();
+        MessageExample messageExample = MessageExample.newBuilder().setKey("key").setValue("value").build();
+
+        ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(messageExample, null));
+        assertFalse(result.success());
+        assertEquals("Missing protobuf schema", result.getValidationErrors().get(0).getDescription());
+
+        result = validator.validate(ps, null, ByteBuffer.wrap(messageExample.toByteArray()));
+        assertFalse(result.success());
+        assertEquals("Missing protobuf schema", result.getValidationErrors().get(0).getDescription());
+    }
+
+    @Test
+    public void testMaxErrors() {
+        ProtobufValidator validator = new ProtobufValidator(new ProtobufValidatorConfig(
+                Map.of(ProtobufValidatorConfig.FAIL_FAST, true)));
+        ProtobufSchemaParser<MessageExample> protobufSchemaParser = new ProtobufSchemaParser<>();
+        final byte[] schemaBytes = readResource("message_example_changed.proto");
+        final ProtobufSchema protobufSchema = protobufSchemaParser.parseSchema(schemaBytes, Collections.emptyMap());
+        ParsedSchemaImpl<ProtobufSchema> ps = new ParsedSchemaImpl<ProtobufSchema>()
+                .setParsedSchema(protobufSchema)
+                .setRawSchema(schemaBytes);
+
+        MessageExample messageExample = MessageExample.newBuilder().setKey("key").setValue("value").build();
+        final ProtobufValidationResult result = validator.validate(ps, new ProtobufRecord(messageExample, null));
+
+        assertFalse(result.success());
+        assertEquals(1, result.getValidationErrors().size());
+
+        // unknown field numbers 5, 6 and 7
+        byte[] payload = {0x28, 0x01, 0x30, 0x01, 0x38, 0x01};
+        assertEquals(3, new ProtobufValidator().validate(parseMessageExampleSchema(), ByteBuffer.wrap(payload))
+                .getValidationErrors().size());
+        assertEquals(2, new ProtobufValidator(new ProtobufValidatorConfig(Map.of(ProtobufValidatorConfig.MAX_ERRORS, 2)))
+                .validate(parseMessageExampleSchema(), ByteBuffer.wrap(payload)).getValidationErrors().size());
+    }
+
+    @Test
+    public void testWarmUpAndSnapshot(@TempDir Path directory) throws IOException {
+        ParsedSchemaImpl<ProtobufSchema> main = parseMessageExampleSchema();
+
+        ProtobufValidatorConfig config = new ProtobufValidatorConfig(Map.of(ProtobufValidatorConfig.SNAPSHOT_DIR, directory.toString()));
+        AtomicInteger resolutions = new AtomicInteger();
+        ProtobufValidator validator = new ProtobufValidator(config) {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                throw new IllegalStateException("not warmed up");
+            }
+
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(ArtifactReference reference) {
+                resolutions.incrementAndGet();
+                if (!"message_example".equals(reference.getArtifactId())) {
+                    throw new IllegalStateException("artifact not found");
+                }
+                return main;
+            }
+        };
+        ArtifactReference reference = ArtifactReference.builder().groupId("default").artifactId("message_example").build();
+        ArtifactReference missing = ArtifactReference.builder().groupId("default").artifactId("missing").build();
+
+        List<ProtobufValidationResult> results = validator.warmUp(List.of(reference, missing));
+        assertTrue(results.get(0).success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", results.get(1).getValidationErrors().get(0).getContext());
+        assertEquals(2, resolutions.get());
+
+        MessageExample messageExample = MessageExample.newBuilder().setKey("key").setValue("value").build();
+        ProtobufRecord record = new ProtobufRecord(messageExample, new ProtobufMetadata(reference));
+        assertTrue(validator.validate(record).success());
+
+        // a corrupt file of the snapshot is skipped
+        Files.write(directory.resolve("corrupt.schema"), new byte[] {0, 0, 0, 1, 1});
+
+        // a new validator validates with the snapshot while the registry is unavailable
+        AtomicInteger refreshes = new AtomicInteger();
+        ProtobufValidator restarted = new ProtobufValidator(config) {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                throw new IllegalStateException("registry unavailable");
+            }
+
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(ArtifactReference reference) {
+                refreshes.incrementAndGet();
+                throw new IllegalStateException("registry unavailable");
+            }
+        };
+        restarted.loadSnapshot(new ProtobufSchemaParser<>());
+        // the snapshot is refreshed from the registry once the validator is used, not while it is created
+        assertEquals(0, refreshes.get());
+        assertTrue(restarted.validate(record).success());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (refreshes.get() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, refreshes.get());
+        // the snapshot schemas are pinned, with the default time to live, until a refresh succeeds
+        assertTrue(restarted.validate(record).success());
+        assertFalse(restarted.validate(new ProtobufRecord(messageExample, null)).success());
+    }
+
+    @Test
+    public void testRefreshedCacheEntriesAreQueuedOnce() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("other", 0);
+        for (int i = 0; i < 1000; i++) {
+            // an expired entry is removed and then stored again by the next resolution
+            cache.put("artifact", i);
+            cache.remove("artifact", i);
+        }
+        cache.put("artifact", 1000);
+        assertEquals(2, cache.queuedKeys());
+        assertEquals(0, cache.get("other"));
+        assertEquals(1000, cache.get("artifact"));
+
+        cache.remove("artifact", 999);
+        assertEquals(1000, cache.get("artifact"));
+        assertEquals(2, cache.queuedKeys());
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneResolution() throws Exception {
+        ParsedSchemaImpl<ProtobufSchema> schema = parseMessageExampleSchema();
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProtobufValidator validator = new ProtobufValidator() {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                resolutions.incrementAndGet();
+                resolving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return schema;
+            }
+        };
+        ProtobufRecord record = new ProtobufRecord(MessageExample.newBuilder().setKey("key").setValue("value").build(),
+                new ProtobufMetadata(ArtifactReference.builder().groupId("default").artifactId("message_example").build()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ProtobufValidationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> validator.validate(record)));
+            }
+            resolving.await();
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<ProtobufValidationResult> result : results) {
+                assertTrue(result.get().success());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void testFailedResolutionsAreCached() throws Exception {
+        AtomicInteger resolutions = new AtomicInteger();
+        ProtobufValidator validator = new ProtobufValidator() {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                resolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        ProtobufRecord record = new ProtobufRecord(MessageExample.newBuilder().setKey("key").setValue("value").build(),
+                new ProtobufMetadata(ArtifactReference.builder().groupId("default").artifactId("message_example").build()));
+
+        ProtobufValidationResult result = validator.validate(record);
+        assertFalse(result.success());
+        assertEquals("SCHEMA_RESOLUTION_ERROR", result.getValidationErrors().get(0).getContext());
+        assertSame(result, validator.validate(record));
+        assertSame(result, validator.validateAll(List.of(record, record)).get(1));
+        assertSame(result, validator.validateAsync(record).toCompletableFuture().getNow(null));
+        assertEquals(1, resolutions.get());
+
+        // records without an artifact reference have no key to remember the failure by
+        ProtobufRecord unkeyed = new ProtobufRecord(MessageExample.newBuilder().setKey("key").setValue("value").build(), null);
+        assertFalse(validator.validate(unkeyed).success());
+        assertFalse(validator.validate(unkeyed).success());
+        assertEquals(3, resolutions.get());
+
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        ProtobufValidator uncached = new ProtobufValidator(new ProtobufValidatorConfig(Map.of(ProtobufValidatorConfig.NEGATIVE_CACHE_TTL_MS, 0))) {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                uncachedResolutions.incrementAndGet();
+                throw new IllegalStateException("artifact not found");
+            }
+        };
+        assertFalse(uncached.validate(record).success());
+        assertFalse(uncached.validate(record).success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testValidateAsync() {
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+        AtomicInteger resolutions = new AtomicInteger();
+        // the default configuration validates records of recently resolved artifacts inline
+        ProtobufValidator validator = new ProtobufValidator() {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                resolutions.incrementAndGet();
+                return ps;
+            }
+        };
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        ProtobufMetadata metadata = new ProtobufMetadata(
+                ArtifactReference.builder().groupId("default").artifactId("message_example").build());
+        MessageExample messageExample = MessageExample.newBuilder().setKey("key").setValue("value").build();
+        ProtobufRecord record = new ProtobufRecord(messageExample, metadata);
+
+        assertTrue(validator.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(1, tasks.get());
+
+        // the schema is cached, the record is validated inline
+        CompletableFuture<ProtobufValidationResult> cached = validator.validateAsync(record, executor).toCompletableFuture();
+        assertTrue(cached.isDone());
+        assertTrue(cached.join().success());
+        assertEquals(1, tasks.get());
+        assertEquals(1, resolutions.get());
+
+        // records without artifact reference are always resolved on the executor
+        ProtobufRecord anonymous = new ProtobufRecord(messageExample, null);
+        assertTrue(validator.validateAsync(anonymous, executor).toCompletableFuture().join().success());
+        assertEquals(2, tasks.get());
+        assertTrue(validator.validateAsync(anonymous).toCompletableFuture().join().success());
+        assertEquals(3, resolutions.get());
+
+        // without a schema cache every record is resolved, the schema resolver decides when to contact the registry
+        AtomicInteger uncachedResolutions = new AtomicInteger();
+        ProtobufValidator uncached = new ProtobufValidator(new ProtobufValidatorConfig(Map.of(ProtobufValidatorConfig.SCHEMA_CACHE_TTL_MS, 0))) {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                uncachedResolutions.incrementAndGet();
+                return validator.resolveSchema(record);
+            }
+        };
+        assertTrue(uncached.validate(record).success());
+        assertTrue(uncached.validateAsync(record, executor).toCompletableFuture().join().success());
+        assertEquals(2, uncachedResolutions.get());
+    }
+
+    @Test
+    public void testValidateAllResolvesEachSchemaOnce() {
+        ParsedSchemaImpl<ProtobufSchema> ps = parseMessageExampleSchema();
+        AtomicInteger resolutions = new AtomicInteger();
+        ProtobufValidator validator = new ProtobufValidator() {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                resolutions.incrementAndGet();
+                return ps;
+            }
+        };
+        ProtobufMetadata metadata = new ProtobufMetadata(
+                ArtifactReference.builder().groupId("default").artifactId("message_example").build());
+
+        MessageExample messageExample = MessageExample.newBuilder().setKey("key").setValue("value").build();
+        MessageExample2 messageExample2 = MessageExample2.newBuilder().setKey2("key").setValue2(42).build();
+        List<ProtobufValidationResult> results = validator.validateAll(List.of(
+                new ProtobufRecord(messageExample, metadata),
+                new ProtobufRecord(messageExample2, metadata),
+                new ProtobufRecord(messageExample, metadata)));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertTrue(results.get(2).success());
+        assertEquals(1, resolutions.get());
+
+        // a record whose validation throws gets its own error result, the rest of the batch is validated
+        ProtobufRecord failing = new ProtobufRecord(messageExample, metadata);
+        ProtobufValidator throwing = new ProtobufValidator() {
+            @Override
+            protected ParsedSchema<ProtobufSchema> resolveSchema(Record<Message> record) {
+                return ps;
+            }
+
+            @Override
+            protected ProtobufValidationResult validate(ParsedSchema<ProtobufSchema> schema, Record<Message> record) {
+                if (record == failing) {
+                    throw new IllegalStateException("cannot validate");
+                }
+                return super.validate(schema, record);
+            }
+        };
+        results = throwing.validateAll(List.of(
+                new ProtobufRecord(messageExample, metadata),
+                failing,
+                new ProtobufRecord(messageExample, metadata)));
+        assertTrue(results.get(0).success());
+        assertEquals(throwing.validate(failing).getValidationErrors().toString(), results.get(1).getValidationErrors().toString());
+        assertTrue(results.get(2).success());
+    }
+
+    private ParsedSchemaImpl<ProtobufSchema> parseMessageExampleSchema() {
+        ProtobufSchemaParser<MessageExample> protobufSchemaParser = new ProtobufSchemaParser<>();
+        final byte[] schemaBytes = readResource("message_example.proto");
+        final ProtobufSchema protobufSchema = protobufSchemaParser.parseSchema(schemaBytes, Collections.emptyMap());
+        return new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(protobufSchema).setRawSchema(schemaBytes);
+    }
+
+    private ParsedSchemaImpl<ProtobufSchema> parsePersonWithAddressSchema() {
+        final byte[] addressBytes = readResource("address.proto");
+        final ProtobufSchema addressSchema = new ProtobufSchemaParser<Address>()
+                .parseSchema(addressBytes, Collections.emptyMap());
+        ParsedSchemaImpl<ProtobufSchema> addressParsedSchema = new ParsedSchemaImpl<ProtobufSchema>()
+                .setParsedSchema(addressSchema)
+                .setRawSchema(addressBytes)
+                .setReferenceName("address.proto");
+
+        final byte[] personBytes = readResource("person_with_address.proto");
+        Map<String, ParsedSchema<ProtobufSchema>> refs = Map.of("address.proto", addressParsedSchema);
+        final ProtobufSchema personSchema = new ProtobufSchemaParser<PersonWithAddress>()
+                .parseSchema(personBytes, refs);
+        return new ParsedSchemaImpl<ProtobufSchema>().setParsedSchema(personSchema).setRawSchema(personBytes);
+    }
+
     public static byte[] readResource(String resourceName) {
         try (InputStream stream = Thread.currentThread().getContextClassLoader()
                 .getResourceAsStream(resourceName)) {